@@ -1,11 +1,36 @@
 import java.util.*;
-import java.util.Dictionary;
 
 /**
  * AIPlayer is an AI player for the ScrabbleGame
  * @author Amber Skinner
  */
 public class AIPlayer extends Player {
+    // Pinned to the value from before this was declared, so older saved games still load
+    private static final long serialVersionUID = -803879713530130869L;
+
+    /**
+     * The ways the AI can find its possible moves.
+     */
+    public enum Strategy {
+        // Lines up dictionary words on single board letters. Finds most moves, but many of them are invalid.
+        CANDIDATE_WORDS,
+        // Grows words both ways from every anchor square with a GADDAG. Finds every valid move and nothing else.
+        GADDAG,
+        // Extends left parts rightwards through every anchor square with the word graph. Finds the same moves as
+        // GADDAG with a smaller graph.
+        TRIE
+    }
+
+    // The number of threads the AI finds its moves on unless told otherwise, set with -Dscrabble.ai.threads
+    private static final int DEFAULT_THREADS = Math.max(1, Integer.getInteger("scrabble.ai.threads", 1));
+    // The time the AI has for a turn unless told otherwise in milliseconds, 0 for no limit, set with -Dscrabble.ai.budget
+    private static final long DEFAULT_TIME_BUDGET = Math.max(0, Long.getLong("scrabble.ai.budget", 0));
+
+    private Strategy strategy = Strategy.GADDAG;
+    private int threads = DEFAULT_THREADS;
+    private long timeBudget = DEFAULT_TIME_BUDGET;
+    // What the last turn played with a time budget searched, not saved with the game
+    private transient AnytimeMoveSearch.Result lastSearch;
 
     /**
      * Constructor, no different from Player
@@ -19,74 +44,198 @@ public class AIPlayer extends Player {
     }
 
     /**
-     * Returns a list of every possible play the AI could make. The plays are not necessarily valid.
+     * Gets the way the AI finds its possible moves.
+     * @return the move finding strategy
+     */
+    public Strategy getStrategy()
+    {
+        // Games saved before strategies existed load with no strategy
+        return strategy == null ? Strategy.GADDAG : strategy;
+    }
+
+    /**
+     * Sets the way the AI finds its possible moves.
+     * @param strategy the move finding strategy
+     */
+    public void setStrategy(Strategy strategy)
+    {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Gets the number of threads the AI finds and scores its moves on.
+     * @return the number of threads, 1 if the moves are found on the thread playing the turn
+     */
+    public int getThreads()
+    {
+        // Games saved before threads existed load with 0
+        return Math.max(1, threads);
+    }
+
+    /**
+     * Sets the number of threads the AI finds and scores its moves on, such as the number of cores.
+     * @param threads the number of threads, 1 to find the moves on the thread playing the turn
+     * @throws IllegalArgumentException if threads is less than 1
+     */
+    public void setThreads(int threads)
+    {
+        if (threads < 1)
+            throw new IllegalArgumentException("The AI needs at least one thread, not " + threads);
+        this.threads = threads;
+    }
+
+    /**
+     * Gets the time the AI has to find its move in a turn. With a budget the AI searches the most promising moves
+     * first and plays the best one it found when the time is up.
+     * @return the time budget in milliseconds, 0 if the AI looks at every move
+     */
+    public long getTimeBudget()
+    {
+        return timeBudget;
+    }
+
+    /**
+     * Sets the time the AI has to find its move in a turn, such as 50 ms for interactive games.
+     * @param timeBudget the time budget in milliseconds, 0 to look at every move
+     * @throws IllegalArgumentException if timeBudget is negative
+     */
+    public void setTimeBudget(long timeBudget)
+    {
+        if (timeBudget < 0)
+            throw new IllegalArgumentException("The time budget cannot be negative, not " + timeBudget);
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Gets what the last turn played with a time budget searched: the move found and how much of the possible
+     * moves it looked at.
+     * @return the search, or null if no turn was played with a time budget
+     */
+    public AnytimeMoveSearch.Result getLastSearch()
+    {
+        return lastSearch;
+    }
+
+    /**
+     * Records what the last turn played with a time budget searched.
+     * @param lastSearch the search
+     */
+    void setLastSearch(AnytimeMoveSearch.Result lastSearch)
+    {
+        this.lastSearch = lastSearch;
+    }
+
+    /**
+     * Returns a list of the plays the AI could make, found with the AI's strategy. With the GADDAG and
+     * trie strategies every play is valid, with the candidate words strategy they are not necessarily valid.
      * @param model The model of the ScrabbleGame
-     * @return An ArrayList of every play the AI could make, valid or not.
+     * @return An ArrayList of the plays the AI could make.
      */
     public ArrayList<AIPlay> GetPossibleMoves(ScrabbleModel model)
     {
-        // Get every tile on the board
-        Board board = model.getBoard();
-        // The list of all existing board letters that could be played around
-        ArrayList<AIPlay> aiPlays = new ArrayList<>();
-        for(int row = 0; row < 15; row++)
+        if (getStrategy() == Strategy.GADDAG)
         {
-            for (int col = 0; col < 15; col++)
-            {
-                if (board.getPosition(row, col) == null)
-                    continue;
-                // Add each existing tile to the list of plays (each is just one letter)
-                aiPlays.add(new AIPlay(row, col, 1, String.valueOf(board.getPosition(row, col).getCharacter())));
-                aiPlays.add(new AIPlay(row, col, 2, String.valueOf(board.getPosition(row, col).getCharacter())));
-            }
+            Dictionary dictionary = model.getDictionary();
+            GaddagMoveGenerator generator = new GaddagMoveGenerator(dictionary.getGaddag(), dictionary);
+            return new ArrayList<>(generator.generate(model.getBoard(), tiles));
         }
-        // Makes it able to play in the center, though it is inelegant.
-        if (aiPlays.isEmpty())
+        if (getStrategy() == Strategy.TRIE)
         {
-            final String[] allLetters = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "O", "P", "Q",
-            "R", "S", "T", "U", "V", "W", "X", "Y", "Z"};
-            for (String c : allLetters)
-                aiPlays.add(new AIPlay(7,7,1,c));
+            TrieMoveGenerator generator = new TrieMoveGenerator(model.getDictionary().getTrie());
+            return new ArrayList<>(generator.generate(model.getBoard(), tiles));
         }
+        return GetCandidateWordMoves(model);
+    }
+
+    /**
+     * Returns a list of every possible play the AI could make by lining up candidate words on the letters of the
+     * board. The words are fitted into the line through each board letter, staying on the board and matching any
+     * other tiles they cross. The plays are not necessarily valid.
+     * @param model The model of the ScrabbleGame
+     * @return An ArrayList of every play the AI could make, valid or not.
+     */
+    protected ArrayList<AIPlay> GetCandidateWordMoves(ScrabbleModel model)
+    {
+        Board board = model.getBoard();
         // The list of all words that the AI could possibly play (for the most part)
         HashMap<Character, ArrayList<String>> candidateWords = GetCandidateWords(model);
-        // Second list so more plays can be added without changing the first while it's being iterated over
         ArrayList<AIPlay> possibleMoves = new ArrayList<>();
-        // For each tile on the board, generate possible plays from the list of possible words
-        for (AIPlay play : aiPlays) {
-            // For each word that could be formed using this board letter:
-            for (String s : candidateWords.getOrDefault(play.word.toCharArray()[0], new ArrayList<>())) {
-                // Create a play for the possible word
-                AIPlay newPlay = new AIPlay(play.xPos, play.yPos, play.direction, s);
-                // Find where the existing tile would be on the board
-                int existingCharPos = s.indexOf(play.word.toCharArray()[0]);
-                if (existingCharPos == -1)
+        boolean emptyBoard = board.isEmpty();
+        for (int row = 0; row < Board.BOARD_SIZE; row++)
+        {
+            // Only the squares between the first and last tile of the row can hold a board letter
+            for (int col = board.getRowFirst(row); col >= 0 && col <= board.getRowLast(row); col++)
+            {
+                if (board.getPosition(row, col) == null)
                     continue;
-                // Checking for if the board letter is used twice in the word. If so, there's 2 ways to play the
-                // word that the existing tile would line up with, so we make another possible play
-                if (s.lastIndexOf(play.word.toCharArray()[0]) != existingCharPos) {
-                    AIPlay differentPosPlay = new AIPlay(play.xPos, play.yPos, play.direction, play.word);
-                    int lastExistingCharPos = s.lastIndexOf(play.word.toCharArray()[0]);
-                    // Move the starting position of the play so the existing tile lines up correctly
-                    if (play.direction == 1) {
-                        newPlay.xPos -= lastExistingCharPos;
-                    } else {
-                        newPlay.yPos -= lastExistingCharPos;
-                    }
-                    possibleMoves.add(differentPosPlay);
-                }
-                // Move the starting position of the play so the existing tile lines up correctly
-                if (play.direction == 1) {
-                    newPlay.xPos -= existingCharPos;
-                } else {
-                    newPlay.yPos -= existingCharPos;
-                }
-                possibleMoves.add(newPlay);
+                char letter = Character.toUpperCase(board.getPosition(row, col).getCharacter());
+                ArrayList<String> words = candidateWords.get(letter);
+                if (words == null)
+                    continue;
+                // Try the words across (1) and down (2) through this board letter
+                AddSlotMoves(board, words, letter, row, col, 1, possibleMoves);
+                AddSlotMoves(board, words, letter, row, col, 2, possibleMoves);
             }
         }
+        // Makes it able to play in the center, though it is inelegant: pretend each letter is already there.
+        if (emptyBoard)
+        {
+            int center = Board.BOARD_SIZE / 2;
+            for (Map.Entry<Character, ArrayList<String>> entry : candidateWords.entrySet())
+                AddSlotMoves(board, entry.getValue(), entry.getKey(), center, center, 1, possibleMoves);
+        }
         return possibleMoves;
     }
 
+    /**
+     * Adds a play for every way a candidate word fits on the line through a board letter, with one of its letters
+     * on the board letter. The word has to stay on the board, match any other tiles it crosses and not touch a
+     * tile at either end.
+     * @param board the board
+     * @param words the candidate words
+     * @param letter the board letter
+     * @param row the row of the board letter
+     * @param col the column of the board letter
+     * @param direction 1 for across, 2 for down
+     * @param possibleMoves the list to add the plays to
+     */
+    private static void AddSlotMoves(Board board, ArrayList<String> words, char letter, int row, int col,
+                                     int direction, ArrayList<AIPlay> possibleMoves)
+    {
+        int rowStep = direction == 2 ? 1 : 0;
+        int colStep = direction == 1 ? 1 : 0;
+        int before = rowStep * row + colStep * col;
+        int after = Board.BOARD_SIZE - 1 - before;
+        for (String word : words)
+        {
+            // Line each copy of the board letter in the word up with the board letter, if the rest still fits
+            for (int i = word.indexOf(letter); i >= 0; i = word.indexOf(letter, i + 1))
+            {
+                if (i <= before && word.length() - 1 - i <= after
+                        && Fits(board, word, row - i * rowStep, col - i * colStep, rowStep, colStep))
+                    possibleMoves.add(new AIPlay(row - i * rowStep, col - i * colStep, direction, word));
+            }
+        }
+    }
+
+    /**
+     * Checks that a word on the board would match the tiles it covers and have an empty square or the edge of the
+     * board at both ends.
+     * @return true if the word fits
+     */
+    private static boolean Fits(Board board, String word, int row, int col, int rowStep, int colStep)
+    {
+        for (int i = -1; i <= word.length(); i++)
+        {
+            int r = row + i * rowStep;
+            int c = col + i * colStep;
+            Tile tile = board.validPosition(r, c) ? board.getPosition(r, c) : null;
+            if (tile != null && (i < 0 || i == word.length() || Character.toUpperCase(tile.getCharacter()) != word.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
     /**
      * A class modeling a play the AI player could make.
      */
@@ -115,6 +264,8 @@ public class AIPlayer extends Player {
     /**
      * Returns a HashMap of almost possible words the AI could play with its held tiles and any additional letter
      * (which would exist on the board). The HashMap has a list of possible words for each (hypothetical) board letter.
+     * The words are found with the dictionary's word index, which only looks at words that fit on the board and are
+     * no longer than the rack plus the letters that can be filled in.
      * @param model The model of the ScrabbleGame
      * @return A HashMap containing lists of words that could be played on a letter on the board (which is the key)
       */
@@ -124,78 +275,45 @@ public class AIPlayer extends Player {
         // playing off of a board tile.
         int maxMissingLetters = 1;
         HashMap<Character, ArrayList<String>> candidateWords = new HashMap<>();
-        HashMap<Character, Integer> baseLetterNum = new HashMap<>();
+        int[] baseLetterNum = new int[26];
+        StringBuilder rack = new StringBuilder();
         for (Tile c : tiles)
         {
             if (c.isBlank())
             {
                 maxMissingLetters++;
             }
-            else
+            else if (TrieLexicon.letterIndex(c.getCharacter()) >= 0)
             {
-                baseLetterNum.put(c.getCharacter(), baseLetterNum.getOrDefault(c.getCharacter(), 0) + 1);
+                baseLetterNum[TrieLexicon.letterIndex(c.getCharacter())]++;
+                rack.append(c.getCharacter());
             }
         }
-        var dict = model.getDictionary();
-        // due to the unfortunate naming of our dictionary class I have to call a static method on an object. hm.
-        for (String word : dict.wordList())
+        int[] letterNum = new int[26];
+        for (String word : model.getDictionary().getWordIndex().formable(rack.toString(), maxMissingLetters))
         {
             word = word.toUpperCase();
-            // make a new hashmap for char checking
-            HashMap<Character, Integer> letterNum = new HashMap<>();
-            for (Character c : baseLetterNum.keySet())
-            {
-                letterNum.put(c, baseLetterNum.get(c));
-            }
-            // check for number of each char
+            // check for number of each char, the letters we're missing end up negative
+            System.arraycopy(baseLetterNum, 0, letterNum, 0, 26);
             for (char c : word.toCharArray())
             {
-                letterNum.put(c, letterNum.getOrDefault(c, 0) - 1);
+                letterNum[c - 'A']--;
             }
             int missingSum = 0;
-            for (int i : letterNum.values())
+            for (int i : letterNum)
             {
                 if (i < 0)
                     missingSum -= i;
             }
-            // We are missing too many letters to play this word, so it's not a candidate word
-            if (missingSum > maxMissingLetters)
-                continue;
-            // We can play this word if the missing letter exists on the board
-            else if (missingSum == maxMissingLetters)
-            {
-                for (char c : letterNum.keySet())
-                {
-                    if (letterNum.get(c) < 0)
-                    {
-                        ArrayList<String> thisWordList = candidateWords.getOrDefault(c, new ArrayList<>());
-                        if (thisWordList.isEmpty())
-                        {
-                            thisWordList.add(word);
-                            candidateWords.put(c, thisWordList);
-                        }
-                        else
-                        {
-                            thisWordList.add(word);
-                        }
-                    }
-                }
-            }
-            // We can play this word if any of its letters exist on the board
-            else
+            for (int letter = 0; letter < 26; letter++)
             {
-                for (char c : word.toCharArray())
+                // If we're missing as many letters as we can fill in, one of the missing letters has to be the board
+                // letter. Otherwise any of the word's letters can be the board letter.
+                boolean boardLetter = missingSum == maxMissingLetters ? letterNum[letter] < 0
+                        : word.indexOf('A' + letter) >= 0;
+                if (boardLetter)
                 {
-                    ArrayList<String> thisWordList = candidateWords.getOrDefault(c, new ArrayList<>());
-                    if (thisWordList.isEmpty())
-                    {
-                        thisWordList.add(word);
-                        candidateWords.put(c, thisWordList);
-                    }
-                    else
-                    {
-                        thisWordList.add(word);
-                    }
+                    candidateWords.computeIfAbsent((char) ('A' + letter), k -> new ArrayList<>()).add(word);
                 }
             }
         }
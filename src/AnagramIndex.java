@@ -0,0 +1,133 @@
+import java.util.*;
+
+/**
+ * Index of words by their anagram signature, the letters of the word in sorted order ("tca" and "cat" are
+ * both "act"). Finding the words that can be made from a rack is then a lookup per sub-multiset of the
+ * rack instead of a check of every word in the lexicon.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class AnagramIndex {
+    private static final int PROBE_COST = 20;
+
+    private final Map<String, List<String>> wordsBySignature;
+    //packed letter counts of every signature, for queries with too many wildcards to enumerate
+    private final LetterCounts signatureCounts;
+
+    /**
+     * Constructor, indexes a word list. Words are lower cased and words with characters other than
+     * letters are skipped.
+     * @param words the words to index
+     */
+    public AnagramIndex(Collection<String> words) {
+        wordsBySignature = new HashMap<>();
+        for (String word : words) {
+            word = word.trim().toLowerCase();
+            if (!word.isEmpty() && word.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                List<String> anagrams = wordsBySignature.computeIfAbsent(signature(word), k -> new ArrayList<>(1));
+                if (!anagrams.contains(word)) {
+                    anagrams.add(word);
+                }
+            }
+        }
+        signatureCounts = new LetterCounts(wordsBySignature.keySet());
+    }
+
+    /**
+     * Gets the signature of a word, its lower cased letters in sorted order.
+     * @param word the word
+     * @return the signature
+     */
+    public static String signature(String word) {
+        char[] letters = word.toLowerCase().toCharArray();
+        Arrays.sort(letters);
+        return new String(letters);
+    }
+
+    /**
+     * Gets every word made of exactly the given letters.
+     * @param letters the letters, in any order and case
+     * @return the words, or an empty list if there are none
+     */
+    public List<String> anagrams(String letters) {
+        return Collections.unmodifiableList(wordsBySignature.getOrDefault(signature(letters), Collections.emptyList()));
+    }
+
+    /**
+     * Gets every word that can be made from some of the letters of a rack plus up to a number of extra
+     * letters, which can stand for board letters or blank tiles.
+     * @param rack the letters of the rack, characters other than letters are ignored
+     * @param wildcards the most extra letters a word can use
+     * @return the words
+     */
+    public List<String> formable(String rack, int wildcards) {
+        int[] rackCounts = new int[26];
+        int rackSize = 0;
+        for (char c : rack.toCharArray()) {
+            int letter = TrieLexicon.letterIndex(c);
+            if (letter >= 0) {
+                rackCounts[letter]++;
+                rackSize++;
+            }
+        }
+        List<String> words = new ArrayList<>();
+        //a probe builds a string and hashes it, which costs about as much as checking PROBE_COST packed signatures
+        if (probeCount(rackCounts, wildcards) * PROBE_COST <= wordsBySignature.size()) {
+            probe(rackCounts, 0, wildcards, new char[rackSize + wildcards], 0, words);
+        } else {
+            for (String signature : signatureCounts.formable(rack, wildcards)) {
+                words.addAll(wordsBySignature.get(signature));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Estimates how many signatures formable would look up: the sub-multisets of the rack times the
+     * multisets of at most wildcards letters.
+     */
+    private static double probeCount(int[] rackCounts, int wildcards) {
+        double subsets = 1;
+        for (int count : rackCounts) {
+            subsets *= count + 1;
+        }
+        double extras = 1;
+        for (int i = 1; i <= wildcards; i++) {
+            extras = extras * (26 + i) / i;
+        }
+        return subsets * extras;
+    }
+
+    /**
+     * Looks up every signature that needs at most the remaining wildcards beyond the rack, choosing how many
+     * of each letter from the given letter on.
+     */
+    private void probe(int[] rackCounts, int letter, int wildcards, char[] signature, int length, List<String> words) {
+        if (letter == 26) {
+            if (length > 0) {
+                List<String> found = wordsBySignature.get(new String(signature, 0, length));
+                if (found != null) {
+                    words.addAll(found);
+                }
+            }
+            return;
+        }
+        int most = Math.min(rackCounts[letter] + wildcards, signature.length - length);
+        for (int count = 0; count <= most; count++) {
+            if (count > 0) {
+                signature[length + count - 1] = (char) ('a' + letter);
+            }
+            int extra = Math.max(0, count - rackCounts[letter]);
+            probe(rackCounts, letter + 1, wildcards - extra, signature, length + count, words);
+        }
+    }
+
+    /**
+     * Gets the number of different signatures.
+     * @return the number of signatures
+     */
+    public int getSignatureCount() {
+        return wordsBySignature.size();
+    }
+}
@@ -0,0 +1,60 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Test class for AnagramIndex.
+ * Tests anagram lookups and rack queries against a check of every word.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class AnagramIndexTest {
+    private AnagramIndex index;
+
+    @Before
+    public void setUp(){
+        index = new AnagramIndex(Arrays.asList("act", "cat", "tac", "cats", "at", "a", "dog", "god", "good", "x-ray"));
+    }
+
+    @Test
+    public void testSignature(){
+        assertEquals("act", AnagramIndex.signature("CAT"));
+        assertEquals("dgoo", AnagramIndex.signature("good"));
+    }
+
+    @Test
+    public void testAnagrams(){
+        assertEquals(new HashSet<>(Arrays.asList("act", "cat", "tac")), new HashSet<>(index.anagrams("TCA")));
+        assertTrue("'zzz' should have no anagrams", index.anagrams("zzz").isEmpty());
+        assertEquals(2, index.anagrams("odg").size());
+    }
+
+    @Test
+    public void testFormable(){
+        Set<String> fromRack = new HashSet<>(index.formable("TAC", 0));
+        assertEquals(new HashSet<>(Arrays.asList("act", "cat", "tac", "at", "a")), fromRack);
+        Set<String> withOneExtra = new HashSet<>(index.formable("TAC", 1));
+        assertTrue("One extra S should make cats", withOneExtra.contains("cats"));
+        assertFalse("dog needs three extra letters", withOneExtra.contains("dog"));
+        assertTrue("Three extra letters should make good", index.formable("", 4).contains("good"));
+    }
+
+    @Test
+    public void testFormableMatchesScan(){
+        List<String> words = Dictionary.wordList();
+        AnagramIndex full = new AnagramIndex(words);
+        String rack = "ERSTAIN";
+        for (int wildcards = 0; wildcards <= 3; wildcards++){
+            Set<String> expected = new HashSet<>();
+            for (String word : words){
+                int[] counts = new int[26];
+                for (char c : rack.toLowerCase().toCharArray()) counts[c - 'a']++;
+                int missing = 0;
+                for (char c : word.toCharArray()) if (--counts[c - 'a'] < 0) missing++;
+                if (missing <= wildcards) expected.add(word);
+            }
+            assertEquals("Wildcards: " + wildcards, expected, new HashSet<>(full.formable(rack, wildcards)));
+        }
+    }
+}
@@ -0,0 +1,375 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Finds the best move of an AI player within a time budget. The move space is split into parts, the rows and
+ * columns with an anchor square (or chunks of candidate moves with the candidate words strategy), and the parts
+ * most likely to hold strong moves are searched first: lines with many anchors and premium squares in reach of
+ * the rack, and within a part the longest words. The best move scored so far is kept, and the search returns it
+ * when the deadline passes. Finding the moves of a line stops halfway to the deadline if the line is too long to
+ * search in time, and the moves found until then are scored with the time left, so a long line still adds its
+ * best moves. When every part is searched in time, the move is the one a search without a deadline picks. With
+ * the candidate words strategy the candidate moves are listed before the search starts, only their scoring
+ * stops at the deadline.
+ * The indexes of the dictionary the strategy needs are built before the clock starts, the first time they are
+ * needed, see prepare.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class AnytimeMoveSearch {
+    //candidate moves in each part with the candidate words strategy
+    private static final int CHUNK_SIZE = 256;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor, searches on the calling thread.
+     */
+    public AnytimeMoveSearch() {
+        this(null);
+    }
+
+    /**
+     * Constructor, searches the parts as tasks on a pool.
+     * @param pool the pool, or null to search on the calling thread
+     */
+    public AnytimeMoveSearch(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Searches for the best move of an AI player with its strategy until every part is searched or the time
+     * budget runs out.
+     * @param model the game
+     * @param ai the player whose turn it is
+     * @param budgetNanos the time budget in nanoseconds
+     * @return the best move found and how much of the move space was searched
+     */
+    public Result search(ScrabbleModel model, AIPlayer ai, long budgetNanos) {
+        long setupStart = System.nanoTime();
+        Board board = model.getBoardSnapshot();
+        List<Tile> rack = new ArrayList<>(ai.getTiles());
+        Dictionary dictionary = board.getDictionary();
+        prepare(dictionary, ai.getStrategy());
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+
+        List<Part> parts = new ArrayList<>();
+        if (ai.getStrategy() == AIPlayer.Strategy.CANDIDATE_WORDS) {
+            List<AIPlayer.AIPlay> candidates = ai.GetCandidateWordMoves(model);
+            for (int i = 0; i < candidates.size(); i += CHUNK_SIZE) {
+                List<AIPlayer.AIPlay> chunk = candidates.subList(i, Math.min(i + CHUNK_SIZE, candidates.size()));
+                parts.add(new Part(parts.size(), 0, d -> new Found(new ArrayList<>(chunk), true)));
+            }
+        } else {
+            Gaddag gaddag = ai.getStrategy() == AIPlayer.Strategy.GADDAG ? dictionary.getGaddag() : null;
+            TrieLexicon trie = dictionary.getTrie();
+            int order = 0;
+            for (int direction = 1; direction <= 2; direction++) {
+                for (int line = 0; line < board.getBoardSize(); line++, order++) {
+                    int anchors = lineAnchors(board, direction, line);
+                    if (anchors == 0) {
+                        continue;
+                    }
+                    int dir = direction;
+                    int l = line;
+                    parts.add(new Part(order, promise(board, direction, line, anchors, rack.size()), d -> {
+                        MoveGenerator generator = gaddag != null ? new GaddagMoveGenerator(gaddag, dictionary)
+                                : new TrieMoveGenerator(trie);
+                        generator.setDeadline(d);
+                        List<AIPlayer.AIPlay> moves = generator.generate(board, rack, dir, l);
+                        return new Found(moves, !generator.isStopped());
+                    }));
+                }
+            }
+            //the most promising lines first, in board order when they promise the same
+            parts.sort(Comparator.comparingInt((Part part) -> -part.promise).thenComparingInt(part -> part.order));
+        }
+
+        List<Result> results = new ArrayList<>();
+        if (pool == null) {
+            for (Part part : parts) {
+                results.add(searchPart(model, board, rack, part, deadline));
+            }
+        } else {
+            List<ForkJoinTask<Result>> tasks = new ArrayList<>();
+            for (Part part : parts) {
+                tasks.add(pool.submit(() -> searchPart(model, board, rack, part, deadline)));
+            }
+            for (ForkJoinTask<Result> task : tasks) {
+                results.add(task.join());
+            }
+        }
+
+        Result result = new Result(parts.size(), start - setupStart, System.nanoTime() - start);
+        for (Result part : results) {
+            result.merge(part);
+        }
+        return result;
+    }
+
+    /**
+     * Builds the indexes of a dictionary that the search needs for a strategy, if they are not built yet, which
+     * takes seconds for a big word list. The search does it before its clock starts, and a game can do it ahead
+     * of its first timed turn. The indexes are also built before the parts are searched, so they are not built
+     * by many threads at once.
+     * @param dictionary the dictionary
+     * @param strategy the strategy the moves are found with
+     */
+    public static void prepare(Dictionary dictionary, AIPlayer.Strategy strategy) {
+        if (strategy == AIPlayer.Strategy.CANDIDATE_WORDS) {
+            dictionary.getWordIndex();
+            return;
+        }
+        if (strategy == AIPlayer.Strategy.GADDAG) {
+            dictionary.getGaddag();
+            dictionary.getHooks();
+        }
+        dictionary.getTrie();
+    }
+
+    /**
+     * Finds the moves of a part, longest words first, and scores them until the deadline. A part counts as
+     * searched only if all of its moves were found and scored.
+     */
+    private static Result searchPart(ScrabbleModel model, Board board, List<Tile> rack, Part part, long deadline) {
+        Result result = new Result(1, 0, 0);
+        long now = System.nanoTime();
+        if (now - deadline > 0) {
+            return result;
+        }
+        //finding the moves stops halfway to the deadline, so what was found can be scored if the part is too big
+        Found found = part.moves.find(now + (deadline - now) / 2);
+        List<AIPlayer.AIPlay> moves = found.moves;
+        //the moves longest first, each length in the order they were found, counted out in one pass over them
+        int[] count = new int[board.getBoardSize() + 1];
+        for (AIPlayer.AIPlay play : moves) {
+            count[Math.min(play.word.length(), board.getBoardSize())]++;
+        }
+        int[] next = new int[count.length];
+        for (int length = count.length - 1, at = 0; length >= 0; length--) {
+            next[length] = at;
+            at += count[length];
+        }
+        int[] byLength = new int[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            byLength[next[Math.min(moves.get(i).word.length(), board.getBoardSize())]++] = i;
+        }
+        for (int i : byLength) {
+            if (System.nanoTime() - deadline > 0) {
+                return result;
+            }
+            AIPlayer.AIPlay play = moves.get(i);
+            play.wordScore = model.scoreMove(board, rack, play.xPos, play.yPos, play.direction, play.word);
+            result.movesScored++;
+            //the order the move was found in picks the same move a full search would on a tie
+            result.offer(play, (long) part.order * Integer.MAX_VALUE + i);
+        }
+        if (found.complete) {
+            result.partsSearched++;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the anchor squares of a line, or the center square on an empty board.
+     */
+    private static int lineAnchors(Board board, int direction, int line) {
+        if (board.isEmpty()) {
+            return line == board.getBoardSize() / 2 ? 1 << line : 0;
+        }
+        return direction == 1 ? board.getRowAnchors(line) : board.getColumnAnchors(line);
+    }
+
+    /**
+     * Guesses how strong the moves of a line are: one point for each anchor, and more for each empty premium
+     * square the rack can reach from an anchor, the most for word premiums.
+     */
+    private static int promise(Board board, int direction, int line, int anchors, int rackSize) {
+        int promise = Integer.bitCount(anchors);
+        int size = board.getBoardSize();
+        for (int i = 0; i < size; i++) {
+            int row = direction == 1 ? line : i;
+            int col = direction == 1 ? i : line;
+            if (board.getPosition(row, col) != null) {
+                continue;
+            }
+            //anchors close enough that a word through this square can use one
+            int reach = Math.max(0, i - rackSize + 1);
+            int mask = (1 << Math.min(size, i + rackSize)) - (1 << reach);
+            if ((anchors & mask) == 0) {
+                continue;
+            }
+            switch (board.getPremiumSquare(row, col)) {
+                case DOUBLE_LETTER:
+                    promise += 1;
+                    break;
+                case TRIPLE_LETTER:
+                    promise += 2;
+                    break;
+                case DOUBLE_WORD:
+                    promise += 3;
+                    break;
+                case TRIPLE_WORD:
+                    promise += 5;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return promise;
+    }
+
+    /**
+     * Finds the moves of a part, stopping at a deadline.
+     */
+    private interface MoveFinder {
+        Found find(long deadline);
+    }
+
+    /**
+     * The moves found in a part, in the order a search without a deadline finds them, which are the first ones
+     * only if the deadline stopped the search.
+     */
+    private static class Found {
+        final List<AIPlayer.AIPlay> moves;
+        final boolean complete;
+
+        Found(List<AIPlayer.AIPlay> moves, boolean complete) {
+            this.moves = moves;
+            this.complete = complete;
+        }
+    }
+
+    /**
+     * A part of the move space: a row or column, or a chunk of candidate moves.
+     */
+    private static class Part {
+        //where the part comes in the order moves are found without a deadline
+        final int order;
+        final int promise;
+        final MoveFinder moves;
+
+        Part(int order, int promise, MoveFinder moves) {
+            this.order = order;
+            this.promise = promise;
+            this.moves = moves;
+        }
+    }
+
+    /**
+     * The outcome of a search: the best move found and how much of the move space was searched in time.
+     */
+    public static class Result {
+        private final int parts;
+        private final long setupNanos;
+        private final long elapsedNanos;
+        private int partsSearched;
+        private int movesScored;
+        private AIPlayer.AIPlay best;
+        private long bestKey;
+
+        Result(int parts, long setupNanos, long elapsedNanos) {
+            this.parts = parts;
+            this.setupNanos = setupNanos;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Keeps a move if it scores more than the best so far, or the same and comes first without a deadline.
+         */
+        private void offer(AIPlayer.AIPlay play, long key) {
+            if (play.wordScore > 0 && (best == null || play.wordScore > best.wordScore
+                    || (play.wordScore == best.wordScore && key < bestKey))) {
+                best = play;
+                bestKey = key;
+            }
+        }
+
+        /**
+         * Adds the outcome of searching a part.
+         */
+        private void merge(Result part) {
+            partsSearched += part.partsSearched;
+            movesScored += part.movesScored;
+            if (part.best != null) {
+                offer(part.best, part.bestKey);
+            }
+        }
+
+        /**
+         * Gets the best move found.
+         * @return the move with its wordScore set, or null if no move that scores was found
+         */
+        public AIPlayer.AIPlay getBest() {
+            return best;
+        }
+
+        /**
+         * Gets the number of parts of the move space, the rows and columns with an anchor square, or the chunks
+         * of candidate moves.
+         * @return the number of parts
+         */
+        public int getParts() {
+            return parts;
+        }
+
+        /**
+         * Gets the number of parts whose moves were all found and scored in time.
+         * @return the number of parts searched
+         */
+        public int getPartsSearched() {
+            return partsSearched;
+        }
+
+        /**
+         * Gets the number of moves scored, including the moves of parts that were not searched in full.
+         * @return the number of moves
+         */
+        public int getMovesScored() {
+            return movesScored;
+        }
+
+        /**
+         * Gets how much of the move space was searched.
+         * @return the fraction of parts searched, 1 when there was nothing to search
+         */
+        public double getCoverage() {
+            return parts == 0 ? 1 : (double) partsSearched / parts;
+        }
+
+        /**
+         * Checks if the whole move space was searched, so the best move is the best there is.
+         * @return true if every part was searched
+         */
+        public boolean isComplete() {
+            return partsSearched == parts;
+        }
+
+        /**
+         * Gets how long the search took, from the start of its time budget.
+         * @return the duration in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Gets how long it took to copy the board and build the indexes of the dictionary before the time budget
+         * started, which is long only the first time an index is needed.
+         * @return the duration in nanoseconds
+         */
+        public long getSetupNanos() {
+            return setupNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Searched %d of %d parts (%.0f%%), scored %d moves in %.1f ms after %.1f ms of setup, best %s",
+                    partsSearched, parts, 100 * getCoverage(), movesScored, elapsedNanos / 1e6, setupNanos / 1e6,
+                    best == null ? "none" : best.word + " for " + best.wordScore);
+        }
+    }
+}
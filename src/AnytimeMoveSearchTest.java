@@ -0,0 +1,119 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Test class for AnytimeMoveSearch.
+ * Tests that a search with time to spare finds the move a full search picks, that a search out of time stops and
+ * reports what it covered, that a line cut short by the deadline still gives a move, and that the AI plays within
+ * its time budget.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class AnytimeMoveSearchTest {
+    private ScrabbleModel model;
+
+    @Before
+    public void setUp(){
+        model = new ScrabbleModel();
+        model.initializeGame(2, new String[]{"AI 1", "AI 2"});
+    }
+
+    private AIPlayer.AIPlay fullSearch(AIPlayer ai){
+        AIPlayer.AIPlay best = null;
+        for (AIPlayer.AIPlay move : ai.GetPossibleMoves(model)){
+            move.wordScore = model.placeWord(move.xPos, move.yPos, move.direction, move.word, false);
+            if (move.wordScore > 0 && (best == null || move.wordScore > best.wordScore)){
+                best = move;
+            }
+        }
+        return best;
+    }
+
+    private String describe(AIPlayer.AIPlay move){
+        return move == null ? "none" : move.xPos + "," + move.yPos + "," + move.direction + "," + move.word + "=" + move.wordScore;
+    }
+
+    @Test
+    public void testSameMoveAsFullSearch(){
+        AnytimeMoveSearch search = new AnytimeMoveSearch();
+        AnytimeMoveSearch parallel = new AnytimeMoveSearch(ParallelMoveGenerator.pool(3));
+        for (int turn = 0; turn < 6 && model.isPlaying(); turn++){
+            AIPlayer ai = (AIPlayer) model.getCurrentPlayer();
+            for (AIPlayer.Strategy strategy : AIPlayer.Strategy.values()){
+                ai.setStrategy(strategy);
+                String expected = describe(fullSearch(ai));
+                for (AnytimeMoveSearch s : new AnytimeMoveSearch[]{search, parallel}){
+                    AnytimeMoveSearch.Result result = s.search(model, ai, 60_000_000_000L);
+                    assertTrue("A search with time to spare should be complete", result.isComplete());
+                    assertEquals(1.0, result.getCoverage(), 0);
+                    assertEquals("Turn " + turn + " with " + strategy, expected, describe(result.getBest()));
+                }
+            }
+            ai.setStrategy(AIPlayer.Strategy.GADDAG);
+            model.CheckAITurn();
+        }
+    }
+
+    @Test
+    public void testStopsAtDeadline(){
+        model.CheckAITurn();
+        AIPlayer ai = (AIPlayer) model.getCurrentPlayer();
+        AnytimeMoveSearch.Result result = new AnytimeMoveSearch().search(model, ai, 0);
+        assertTrue("There should be lines to search", result.getParts() > 0);
+        assertFalse("No time should leave the search incomplete", result.isComplete());
+        assertEquals(0, result.getPartsSearched());
+        assertEquals(0, result.getMovesScored());
+        assertNull(result.getBest());
+    }
+
+    @Test
+    public void testBestSoFarFromLineCutShort(){
+        //three blanks on the empty board make over ten thousand moves along the middle row, more than 20 ms can search
+        AIPlayer ai = (AIPlayer) model.getCurrentPlayer();
+        ai.getTiles().clear();
+        for (char c : "AERS".toCharArray()){
+            ai.addTile(new Tile(c));
+        }
+        for (int i = 0; i < 3; i++){
+            ai.addTile(new Tile(true));
+        }
+        AnytimeMoveSearch search = new AnytimeMoveSearch();
+        for (AIPlayer.Strategy strategy : new AIPlayer.Strategy[]{AIPlayer.Strategy.GADDAG, AIPlayer.Strategy.TRIE}){
+            ai.setStrategy(strategy);
+            //warm up, so the search is not slowed by building the indexes or by loading classes
+            assertTrue(search.search(model, ai, 60_000_000_000L).isComplete());
+
+            AnytimeMoveSearch.Result result = search.search(model, ai, 20_000_000);
+            assertEquals("The middle row and column are the only lines", 2, result.getParts());
+            assertFalse("The lines cannot be searched in full in time", result.isComplete());
+            assertTrue(result.getCoverage() < 1);
+            assertTrue("The moves found before the deadline should be scored", result.getMovesScored() > 0);
+            AIPlayer.AIPlay best = result.getBest();
+            assertNotNull("The best move found so far should be kept with " + strategy, best);
+            assertEquals(best.word + " should score what it plays for",
+                    model.placeWord(best.xPos, best.yPos, best.direction, best.word, false), best.wordScore);
+            assertTrue(best.wordScore > 0);
+        }
+    }
+
+    @Test
+    public void testAIPlaysWithBudget(){
+        AIPlayer ai = (AIPlayer) model.getCurrentPlayer();
+        assertNull("No turn was played with a budget yet", ai.getLastSearch());
+        ai.setTimeBudget(60_000);
+        int scoreBefore = ai.getScore();
+        model.CheckAITurn();
+        AnytimeMoveSearch.Result result = ai.getLastSearch();
+        assertNotNull(result);
+        assertTrue(result.isComplete());
+        int gained = result.getBest() == null ? 0 : result.getBest().wordScore;
+        assertEquals("The AI should gain the best move's score", scoreBefore + gained, ai.getScore());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBudgetNotNegative(){
+        ((AIPlayer) model.getCurrentPlayer()).setTimeBudget(-1);
+    }
+}
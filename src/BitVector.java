@@ -0,0 +1,172 @@
+/**
+ * Immutable sequence of bits that can count the ones before any position (rank) and find the position of the
+ * n-th zero (select) quickly, the building block of succinct data structures such as LoudsTrie.
+ * Ranks are kept for every block of 512 bits, and the block of every 512th zero, about 7% on top of the bits.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class BitVector {
+    private static final int WORDS_PER_BLOCK = 8;
+    private static final int BLOCK_BITS = 64 * WORDS_PER_BLOCK;
+
+    private final long[] bits;
+    private final int length;
+    //number of ones before each block
+    private final int[] blockRanks;
+    //block holding zero number 1, 513, 1025 and so on, to narrow down select
+    private final int[] zeroBlocks;
+
+    /**
+     * Constructor
+     * @param bits the bits, bit i being bit i % 64 of bits[i / 64]
+     * @param length the number of bits
+     */
+    public BitVector(long[] bits, int length) {
+        this.bits = bits;
+        this.length = length;
+        blockRanks = new int[(bits.length + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK + 1];
+        int ones = 0;
+        for (int i = 0; i < bits.length; i++) {
+            if (i % WORDS_PER_BLOCK == 0) {
+                blockRanks[i / WORDS_PER_BLOCK] = ones;
+            }
+            ones += Long.bitCount(bits[i]);
+        }
+        blockRanks[blockRanks.length - 1] = ones;
+
+        int zeroCount = length - ones;
+        zeroBlocks = new int[zeroCount / BLOCK_BITS + 2];
+        //the slots past the last sample bound the search by the last block
+        java.util.Arrays.fill(zeroBlocks, blockRanks.length - 2);
+        int block = 0;
+        for (int sample = 0; sample * BLOCK_BITS < zeroCount; sample++) {
+            while (zerosBefore(block + 1) <= sample * BLOCK_BITS) {
+                block++;
+            }
+            zeroBlocks[sample] = block;
+        }
+    }
+
+    /**
+     * Counts the zeros before a block, counting the padding after the last bit as ones.
+     */
+    private int zerosBefore(int block) {
+        return Math.min(block * BLOCK_BITS, length) - blockRanks[block];
+    }
+
+    /**
+     * Gets a bit.
+     * @param position the position of the bit
+     * @return true if the bit is one
+     */
+    public boolean get(int position) {
+        return (bits[position >>> 6] & (1L << position)) != 0;
+    }
+
+    /**
+     * Counts the ones before a position.
+     * @param position the position, from 0 to the length
+     * @return the number of ones in the bits before it
+     */
+    public int rank1(int position) {
+        int word = position >>> 6;
+        int rank = blockRanks[word / WORDS_PER_BLOCK];
+        for (int i = word - word % WORDS_PER_BLOCK; i < word; i++) {
+            rank += Long.bitCount(bits[i]);
+        }
+        if ((position & 63) != 0) {
+            rank += Long.bitCount(bits[word] & (-1L >>> (64 - (position & 63))));
+        }
+        return rank;
+    }
+
+    /**
+     * Counts the zeros before a position.
+     * @param position the position, from 0 to the length
+     * @return the number of zeros in the bits before it
+     */
+    public int rank0(int position) {
+        return position - rank1(position);
+    }
+
+    /**
+     * Finds the position of a zero.
+     * @param n which zero to find, 1 for the first one
+     * @return the position of the n-th zero, or -1 if there are fewer zeros
+     */
+    public int select0(int n) {
+        if (n < 1 || n > length - blockRanks[blockRanks.length - 1]) {
+            return -1;
+        }
+        //the last block with fewer than n zeros before it, between the blocks of the samples around it
+        int sample = (n - 1) / BLOCK_BITS;
+        int low = zeroBlocks[sample];
+        int high = zeroBlocks[sample + 1];
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (zerosBefore(middle) < n) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        int remaining = n - zerosBefore(low);
+        for (int word = low * WORDS_PER_BLOCK; word < bits.length; word++) {
+            long zeros = ~bits[word];
+            int count = Long.bitCount(zeros);
+            if (count >= remaining) {
+                //deposit a one on the remaining-th zero of the word
+                return word * 64 + Long.numberOfTrailingZeros(Long.expand(1L << (remaining - 1), zeros));
+            }
+            remaining -= count;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of bits.
+     * @return the length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets the memory used by the bits and the rank and select indexes.
+     * @return the size in bytes
+     */
+    public long getMemoryBytes() {
+        return 8L * bits.length + 4L * (blockRanks.length + zeroBlocks.length);
+    }
+
+    /**
+     * Builds a bit vector by appending bits.
+     */
+    static class Builder {
+        private long[] bits = new long[16];
+        private int length;
+
+        /**
+         * Appends a bit.
+         * @param bit true for a one
+         */
+        void add(boolean bit) {
+            if (length == bits.length * 64) {
+                bits = java.util.Arrays.copyOf(bits, bits.length * 2);
+            }
+            if (bit) {
+                bits[length >>> 6] |= 1L << length;
+            }
+            length++;
+        }
+
+        /**
+         * Makes the bit vector, the builder should not be used after.
+         * @return the bit vector
+         */
+        BitVector build() {
+            return new BitVector(java.util.Arrays.copyOf(bits, (length + 63) / 64), length);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over the words of a lexicon, ignoring case. It answers "definitely not a word" after a few bit
+ * probes, with no allocation, and "maybe a word" for every word and a small, configurable fraction of
+ * non-words. Dictionary puts it in front of its lexicon so that the many invalid words the AI and the cross
+ * word checks try are rejected before the exact lookup.
+ *
+ * The filter is blocked: a word's bits all fall in one 512 bit block, a single cache line, picked by the top of
+ * its 64 bit hash, and the bits inside the block are 9 bit slices of a second mix of the hash. A lookup then
+ * touches one cache line and does no division. Blocking lets through a few more non-words than a plain
+ * filter of the same size, so it is made a bit bigger than the textbook size.
+ *
+ * The filter counts how many lookups it rejected and passed on, and Dictionary reports the passed words that
+ * turned out not to be words, so the observed false positive rate can be checked.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class BloomFilter {
+    private static final int BLOCK_LONGS = 8;
+    private static final int BLOCK_BITS = 64 * BLOCK_LONGS;
+    //slices of 9 bits in a 64 bit hash
+    private static final int MAX_HASHES = 7;
+    //extra room for blocking, which fills some blocks more than others
+    private static final double BLOCKING_OVERHEAD = 1.15;
+
+    private final long[] bits;
+    private final int blockCount;
+    private final int hashCount;
+    private final double falsePositiveRate;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * Constructor, sizes the filter for a word list and a false positive rate and adds every word.
+     * @param words the words, blank lines are skipped
+     * @param falsePositiveRate the fraction of non-words that should get through, between 0 and 1
+     */
+    public BloomFilter(Collection<String> words, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        int wordCount = Math.max(1, words.size());
+        //optimal sizes: m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hashes
+        double optimalBits = -wordCount * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        blockCount = (int) Math.min(Integer.MAX_VALUE / BLOCK_LONGS, Math.ceil(BLOCKING_OVERHEAD * optimalBits / BLOCK_BITS));
+        hashCount = Math.max(1, Math.min(MAX_HASHES, (int) Math.round(optimalBits / wordCount * Math.log(2))));
+        bits = new long[blockCount * BLOCK_LONGS];
+        for (String word : words) {
+            word = word.trim();
+            if (!word.isEmpty()) {
+                add(word);
+            }
+        }
+    }
+
+    /**
+     * Adds a word to the filter.
+     */
+    private void add(CharSequence word) {
+        long hash = hash(word);
+        int block = block(hash);
+        long slices = mix(hash);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) (slices >>> (9 * i)) & (BLOCK_BITS - 1);
+            bits[block + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Checks if a word might be in the lexicon, ignoring case.
+     * @param word the word to check
+     * @return false if the word is definitely not in the lexicon, true if it might be
+     */
+    public boolean mightContain(CharSequence word) {
+        return mightContainHash(hash(word));
+    }
+
+    /**
+     * Checks if the word in a slice of a char array might be in the lexicon, ignoring case.
+     * @param letters the buffer holding the word
+     * @param offset the index of the word's first letter
+     * @param length the number of letters
+     * @return false if the word is definitely not in the lexicon, true if it might be
+     */
+    public boolean mightContain(char[] letters, int offset, int length) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = offset; i < offset + length; i++) {
+            hash ^= Character.toLowerCase(letters[i]);
+            hash *= 0x100000001b3L;
+        }
+        return mightContainHash(mix(hash));
+    }
+
+    /**
+     * Checks the bits of a word's hash.
+     */
+    private boolean mightContainHash(long hash) {
+        int block = block(hash);
+        long slices = mix(hash);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) (slices >>> (9 * i)) & (BLOCK_BITS - 1);
+            if ((bits[block + (bit >>> 6)] & (1L << bit)) == 0) {
+                rejected.increment();
+                return false;
+            }
+        }
+        passed.increment();
+        return true;
+    }
+
+    /**
+     * Hashes the lower cased characters of a word to 64 bits, FNV-1a followed by a finalizer.
+     */
+    private static long hash(CharSequence word) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= Character.toLowerCase(word.charAt(i));
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Spreads the bits of a hash (the finalizer of MurmurHash3).
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Picks the block of a hash from its top 32 bits, by multiplying instead of dividing.
+     * @return the index of the block's first long
+     */
+    private int block(long hash) {
+        return (int) (((hash >>> 32) * blockCount) >>> 32) * BLOCK_LONGS;
+    }
+
+    /**
+     * Records that a word the filter passed on was not in the lexicon.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Gets the number of lookups the filter rejected.
+     * @return the number of rejected lookups
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets the number of lookups the filter passed on to the lexicon.
+     * @return the number of passed lookups
+     */
+    public long getPassedCount() {
+        return passed.sum();
+    }
+
+    /**
+     * Gets the number of passed lookups that were not words.
+     * @return the number of false positives
+     */
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * Gets the fraction of non-words the filter let through so far.
+     * @return the observed false positive rate, 0 if no non-words have been checked
+     */
+    public double getObservedFalsePositiveRate() {
+        long falsePositive = falsePositives.sum();
+        long nonWords = falsePositive + rejected.sum();
+        return nonWords == 0 ? 0 : (double) falsePositive / nonWords;
+    }
+
+    /**
+     * Gets the false positive rate the filter was sized for.
+     * @return the configured false positive rate
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Resets the lookup counters.
+     */
+    public void resetCounts() {
+        rejected.reset();
+        passed.reset();
+        falsePositives.reset();
+    }
+
+    /**
+     * Gets the number of hash probes per lookup.
+     * @return the number of hashes
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Gets the memory used by the filter's bits.
+     * @return the size in bytes
+     */
+    public long getMemoryBytes() {
+        return 8L * bits.length;
+    }
+}
@@ -0,0 +1,70 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Test class for BloomFilter.
+ * Tests that the filter never rejects a word, lets few non-words through and counts its lookups.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class BloomFilterTest {
+    private static List<String> words;
+
+    @BeforeClass
+    public static void setUpClass(){
+        words = Dictionary.wordList();
+    }
+
+    @Test
+    public void testNoFalseNegatives(){
+        BloomFilter filter = new BloomFilter(words, 0.01);
+        for (String word : words){
+            assertTrue(word + " should pass the filter", filter.mightContain(word));
+            assertTrue(word + " should pass the filter in upper case", filter.mightContain(word.toUpperCase()));
+        }
+        assertEquals(words.size() * 2L, filter.getPassedCount());
+        assertEquals(0, filter.getRejectedCount());
+    }
+
+    @Test
+    public void testFalsePositiveRate(){
+        Set<String> known = new HashSet<>(words);
+        Random random = new Random(42);
+        for (double rate : new double[]{0.05, 0.01}){
+            BloomFilter filter = new BloomFilter(words, rate);
+            int nonWords = 0;
+            int passed = 0;
+            while (nonWords < 50000){
+                char[] letters = new char[3 + random.nextInt(6)];
+                for (int i = 0; i < letters.length; i++) letters[i] = (char) ('a' + random.nextInt(26));
+                String candidate = new String(letters);
+                if (!known.contains(candidate)){
+                    nonWords++;
+                    if (filter.mightContain(candidate)) passed++;
+                }
+            }
+            assertTrue("Rate " + rate + " let through " + passed, passed < nonWords * rate * 1.5);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadRate(){
+        new BloomFilter(words, 1.5);
+    }
+
+    @Test
+    public void testDictionaryFilter(){
+        Dictionary dictionary = new Dictionary(new HashLexicon(words));
+        BloomFilter filter = dictionary.enableBloomFilter(0.01);
+        assertSame(filter, dictionary.getBloomFilter());
+        assertTrue("'abroad' should still be valid", dictionary.validWord("ABROAD"));
+        assertFalse("'qxzv' should still be invalid", dictionary.validWord("qxzv"));
+        assertEquals(2, filter.getPassedCount() + filter.getRejectedCount());
+        assertEquals(filter.getFalsePositiveCount(), filter.getPassedCount() - 1);
+        dictionary.disableBloomFilter();
+        assertNull(dictionary.getBloomFilter());
+        assertTrue(dictionary.validWord("abroad"));
+    }
+}
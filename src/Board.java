@@ -1,22 +1,33 @@
 import java.util.ArrayList;
 import java.util.List;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 /**
  * Board class for Scrabble game is a 15x15 game board.
  * It handles tile placement, position, validation, and also baord management
+ * When a dictionary is attached, it also keeps the cross-checks of every empty square: for each direction of
+ * play, the letters that make a valid word with the tiles next to the square in the other direction, and the
+ * value of those tiles. They are only updated for the squares next to a tile that is placed or removed.
+ * It also keeps the anchor squares (empty squares next to a tile) as a bit mask for every row and column, and
+ * the first and last tile of every row and column, so moves can be checked and found without scanning the board.
  *
  * @author Emmanuel Konate 101322259
  * @version 3.0
  */
 
-public class Board implements Serializable{
+public final class Board implements Serializable{
     private static final long serialVersionUID = 1L;
 
     //board size is 15x15 and there is a center area which is [7][7]
-    private static final int BOARD_SIZE = 15;
+    public static final int BOARD_SIZE = 15;
     private static final int CENTER_ROW = 7;
     private static final int CENTER_COL = 7;
+    //every letter, the cross-check of a square with no tiles next to it
+    public static final int ALL_LETTERS = (1 << 26) - 1;
+    //the squares next to a square: up, down, left and right
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
 
     public enum PremiumSquare{
         NORMAL, DOUBLE_LETTER, TRIPLE_LETTER, DOUBLE_WORD, TRIPLE_WORD
@@ -26,6 +37,20 @@ public class Board implements Serializable{
     private PremiumSquare[][] premiumSquares;
     private boolean firstWordPlaced;
     private int boardselection = 0;
+    //the dictionary the cross-checks are for, null when they are not kept
+    private transient Dictionary dictionary;
+    //letters allowed on each empty square, by direction of play (0 across, 1 down), 0 on a filled square
+    private transient int[][][] crossChecks;
+    //value of the tiles of the word across each empty square, by direction of play, -1 if there is no such word
+    private transient int[][][] crossScores;
+    //anchor squares of each row (bit c for column c) and of each column (bit r for row r)
+    private transient int[] rowAnchors;
+    private transient int[] columnAnchors;
+    //first and last column with a tile in each row, and first and last row with a tile in each column, -1 if none
+    private transient int[] rowFirst;
+    private transient int[] rowLast;
+    private transient int[] columnFirst;
+    private transient int[] columnLast;
 
     /**
      * Constructor initializing the empty 15x15 board.
@@ -36,6 +61,76 @@ public class Board implements Serializable{
         this.firstWordPlaced = false;
         //initialize the squares
         initializePremiumSquares(boardselection);
+        indexTiles();
+    }
+
+    /**
+     * Gets a copy of the board, with its tiles, premium squares, anchors and cross-checks, that placing or
+     * removing tiles on this board does not change. The tiles themselves are shared. Many threads can read the
+     * copy at once, as long as none of them changes it.
+     * @return the copy
+     */
+    public Board snapshot(){
+        return new Board(this);
+    }
+
+    /**
+     * Constructor copying a board, without finding its premium squares, anchors or cross-checks again.
+     * @param other the board to copy
+     */
+    private Board(Board other){
+        grid = new Tile[BOARD_SIZE][];
+        premiumSquares = new PremiumSquare[BOARD_SIZE][];
+        for (int i = 0; i < BOARD_SIZE; i++){
+            grid[i] = other.grid[i].clone();
+            premiumSquares[i] = other.premiumSquares[i].clone();
+        }
+        firstWordPlaced = other.firstWordPlaced;
+        boardselection = other.boardselection;
+        rowAnchors = other.rowAnchors.clone();
+        columnAnchors = other.columnAnchors.clone();
+        rowFirst = other.rowFirst.clone();
+        rowLast = other.rowLast.clone();
+        columnFirst = other.columnFirst.clone();
+        columnLast = other.columnLast.clone();
+        if (other.dictionary != null){
+            dictionary = other.dictionary;
+            crossChecks = new int[2][BOARD_SIZE][];
+            crossScores = new int[2][BOARD_SIZE][];
+            for (int d = 0; d < 2; d++){
+                for (int i = 0; i < BOARD_SIZE; i++){
+                    crossChecks[d][i] = other.crossChecks[d][i].clone();
+                    crossScores[d][i] = other.crossScores[d][i].clone();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a saved board and finds its anchors and the extents of its lines again.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        indexTiles();
+    }
+
+    /**
+     * Finds the anchors and the first and last tile of every line from scratch.
+     */
+    private void indexTiles(){
+        rowAnchors = new int[BOARD_SIZE];
+        columnAnchors = new int[BOARD_SIZE];
+        rowFirst = new int[BOARD_SIZE];
+        rowLast = new int[BOARD_SIZE];
+        columnFirst = new int[BOARD_SIZE];
+        columnLast = new int[BOARD_SIZE];
+        for (int i = 0; i < BOARD_SIZE; i++){
+            updateRowExtent(i);
+            updateColumnExtent(i);
+            for (int j = 0; j < BOARD_SIZE; j++){
+                updateAnchor(i, j);
+            }
+        }
     }
 
     /**
@@ -91,6 +186,7 @@ public class Board implements Serializable{
         }
         //Place the tile
         grid[x][y] = tile;
+        tileChanged(x, y);
         return true;
 
     }
@@ -103,6 +199,290 @@ public class Board implements Serializable{
     public void removeTile(int x, int y)
     {
         grid[x][y] = null;
+        tileChanged(x, y);
+    }
+
+    /**
+     * Attaches the dictionary the cross-checks are found with, finding the cross-checks of every square if it is
+     * a different dictionary from the one attached. Attaching null stops keeping cross-checks.
+     * @param dictionary the dictionary, or null
+     */
+    public void setDictionary(Dictionary dictionary){
+        if (dictionary == this.dictionary){
+            return;
+        }
+        this.dictionary = dictionary;
+        if (dictionary == null){
+            crossChecks = null;
+            crossScores = null;
+            return;
+        }
+        crossChecks = new int[2][BOARD_SIZE][BOARD_SIZE];
+        crossScores = new int[2][BOARD_SIZE][BOARD_SIZE];
+        for (int i = 0; i < BOARD_SIZE; i++){
+            for (int j = 0; j < BOARD_SIZE; j++){
+                updateCrossChecks(i, j);
+            }
+        }
+    }
+
+    /**
+     * Gets the dictionary the cross-checks are kept for.
+     * @return the dictionary, or null if no cross-checks are kept
+     */
+    public Dictionary getDictionary(){
+        return dictionary;
+    }
+
+    /**
+     * Gets the letters that can be played on a square in a direction without forming an invalid word in the
+     * other direction.
+     * @param row the row of the square
+     * @param col the column of the square
+     * @param direction the direction of play, 1 across and 2 down
+     * @return a mask with bit i set if letter i ('A' + i) can be played, 0 for a filled square or a position off the board
+     * @throws IllegalStateException if no dictionary is attached
+     */
+    public int getCrossCheck(int row, int col, int direction){
+        if (crossChecks == null){
+            throw new IllegalStateException("No dictionary is attached to the board");
+        }
+        return validPosition(row, col) ? crossChecks[direction - 1][row][col] : 0;
+    }
+
+    /**
+     * Gets the value of the tiles a letter played on a square in a direction would join into a word in the other
+     * direction, not counting premium squares.
+     * @param row the row of the square
+     * @param col the column of the square
+     * @param direction the direction of play, 1 across and 2 down
+     * @return the sum of the tile values, or -1 if no word is formed in the other direction
+     * @throws IllegalStateException if no dictionary is attached
+     */
+    public int getCrossScore(int row, int col, int direction){
+        if (crossScores == null){
+            throw new IllegalStateException("No dictionary is attached to the board");
+        }
+        return validPosition(row, col) ? crossScores[direction - 1][row][col] : -1;
+    }
+
+    /**
+     * Checks if a square is an anchor, an empty square next to a tile, where a move has to start from.
+     * @param row the row of the square
+     * @param col the column of the square
+     * @return true if the square is an anchor, false if not or if it is off the board
+     */
+    public boolean isAnchor(int row, int col){
+        return validPosition(row, col) && (rowAnchors[row] & (1 << col)) != 0;
+    }
+
+    /**
+     * Gets the anchor squares of a row.
+     * @param row the row
+     * @return a mask with bit c set if the square in column c is an anchor
+     */
+    public int getRowAnchors(int row){
+        return rowAnchors[row];
+    }
+
+    /**
+     * Gets the anchor squares of a column.
+     * @param col the column
+     * @return a mask with bit r set if the square in row r is an anchor
+     */
+    public int getColumnAnchors(int col){
+        return columnAnchors[col];
+    }
+
+    /**
+     * Gets the column of the first tile in a row.
+     * @param row the row
+     * @return the column, or -1 if the row has no tiles
+     */
+    public int getRowFirst(int row){
+        return rowFirst[row];
+    }
+
+    /**
+     * Gets the column of the last tile in a row.
+     * @param row the row
+     * @return the column, or -1 if the row has no tiles
+     */
+    public int getRowLast(int row){
+        return rowLast[row];
+    }
+
+    /**
+     * Gets the row of the first tile in a column.
+     * @param col the column
+     * @return the row, or -1 if the column has no tiles
+     */
+    public int getColumnFirst(int col){
+        return columnFirst[col];
+    }
+
+    /**
+     * Gets the row of the last tile in a column.
+     * @param col the column
+     * @return the row, or -1 if the column has no tiles
+     */
+    public int getColumnLast(int col){
+        return columnLast[col];
+    }
+
+    /**
+     * Updates what a tile placed on or removed from a square changes: whether the square and the squares next
+     * to it are anchors, the extents of its row and column, and the cross-checks of the square and of the empty
+     * squares at each end of the lines of tiles through it.
+     */
+    private void tileChanged(int row, int col){
+        updateAnchor(row, col);
+        for (int[] step : DIRECTIONS){
+            updateAnchor(row + step[0], col + step[1]);
+        }
+        if (grid[row][col] != null){
+            if (rowFirst[row] < 0 || col < rowFirst[row]){
+                rowFirst[row] = col;
+            }
+            rowLast[row] = Math.max(rowLast[row], col);
+            if (columnFirst[col] < 0 || row < columnFirst[col]){
+                columnFirst[col] = row;
+            }
+            columnLast[col] = Math.max(columnLast[col], row);
+        } else {
+            //the removed tile may have been at an end of its lines
+            updateRowExtent(row);
+            updateColumnExtent(col);
+        }
+
+        if (dictionary == null){
+            return;
+        }
+        updateCrossChecks(row, col);
+        for (int[] step : DIRECTIONS){
+            int r = row + step[0];
+            int c = col + step[1];
+            while (validPosition(r, c) && grid[r][c] != null){
+                r += step[0];
+                c += step[1];
+            }
+            if (validPosition(r, c)){
+                updateCrossChecks(r, c);
+            }
+        }
+    }
+
+    /**
+     * Finds whether a square is an anchor.
+     */
+    private void updateAnchor(int row, int col){
+        if (!validPosition(row, col)){
+            return;
+        }
+        if (grid[row][col] == null && hasNeighbourTile(row, col)){
+            rowAnchors[row] |= 1 << col;
+            columnAnchors[col] |= 1 << row;
+        } else {
+            rowAnchors[row] &= ~(1 << col);
+            columnAnchors[col] &= ~(1 << row);
+        }
+    }
+
+    /**
+     * Finds the first and last tile of a row.
+     */
+    private void updateRowExtent(int row){
+        rowFirst[row] = -1;
+        rowLast[row] = -1;
+        for (int c = 0; c < BOARD_SIZE; c++){
+            if (grid[row][c] != null){
+                if (rowFirst[row] < 0){
+                    rowFirst[row] = c;
+                }
+                rowLast[row] = c;
+            }
+        }
+    }
+
+    /**
+     * Finds the first and last tile of a column.
+     */
+    private void updateColumnExtent(int col){
+        columnFirst[col] = -1;
+        columnLast[col] = -1;
+        for (int r = 0; r < BOARD_SIZE; r++){
+            if (grid[r][col] != null){
+                if (columnFirst[col] < 0){
+                    columnFirst[col] = r;
+                }
+                columnLast[col] = r;
+            }
+        }
+    }
+
+    /**
+     * Finds the cross-checks of a square in both directions.
+     */
+    private void updateCrossChecks(int row, int col){
+        for (int direction = 1; direction <= 2; direction++){
+            if (grid[row][col] != null){
+                crossChecks[direction - 1][row][col] = 0;
+                crossScores[direction - 1][row][col] = -1;
+                continue;
+            }
+            //the word formed is across the direction of play
+            int rowStep = direction == 1 ? 1 : 0;
+            int colStep = direction == 1 ? 0 : 1;
+            int start = 0;
+            while (getPosition(row - (start + 1) * rowStep, col - (start + 1) * colStep) != null){
+                start++;
+            }
+            int end = 0;
+            while (getPosition(row + (end + 1) * rowStep, col + (end + 1) * colStep) != null){
+                end++;
+            }
+            if (start == 0 && end == 0){
+                crossChecks[direction - 1][row][col] = ALL_LETTERS;
+                crossScores[direction - 1][row][col] = -1;
+                continue;
+            }
+            int score = 0;
+            TrieLexicon trie = dictionary.getTrie();
+            int node = trie.root();
+            for (int i = start; i > 0; i--){
+                Tile t = grid[row - i * rowStep][col - i * colStep];
+                score += t.getValue();
+                int index = TrieLexicon.letterIndex(letter(t));
+                node = node == TrieLexicon.NO_NODE || index < 0 ? TrieLexicon.NO_NODE : trie.child(node, index);
+            }
+            for (int i = 1; i <= end; i++){
+                score += grid[row + i * rowStep][col + i * colStep].getValue();
+            }
+            int allowed = 0;
+            if (node != TrieLexicon.NO_NODE){
+                //try every letter that can follow the tiles before the square against the tiles after it
+                for (int letters = trie.edgeMask(node); letters != 0; letters &= letters - 1){
+                    int letter = Integer.numberOfTrailingZeros(letters);
+                    int next = trie.child(node, letter);
+                    for (int i = 1; i <= end && next != TrieLexicon.NO_NODE; i++){
+                        int index = TrieLexicon.letterIndex(letter(grid[row + i * rowStep][col + i * colStep]));
+                        next = index < 0 ? TrieLexicon.NO_NODE : trie.child(next, index);
+                    }
+                    if (next != TrieLexicon.NO_NODE && trie.isTerminal(next)){
+                        allowed |= 1 << letter;
+                    }
+                }
+            }
+            crossChecks[direction - 1][row][col] = allowed;
+            crossScores[direction - 1][row][col] = score;
+        }
+    }
+
+    /**
+     * Gets the letter a tile shows, the letter a blank tile stands for or the tile's own letter
+     */
+    private static char letter(Tile t){
+        return t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
     }
 
     /**
@@ -243,13 +623,8 @@ public class Board implements Serializable{
             int r = direction.equalsIgnoreCase("ACROSS") ? row : row + i;
             int c = direction.equalsIgnoreCase("ACROSS") ? col + i : col;
 
-            // if the position uses a current tile it does connect
-            if (grid[r][c] != null){
-                return true;
-            }
-
-            //check the neighbouring positions
-            if (hasNeighbourTile(r, c)){
+            // if the position uses a current tile or is next to one it does connect
+            if (grid[r][c] != null || isAnchor(r, c)){
                 return true;
             }
 
@@ -266,9 +641,7 @@ public class Board implements Serializable{
      */
     private boolean hasNeighbourTile(int row, int col){
         //checks up, down, left and right
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-
-        for (int[] dir : directions){
+        for (int[] dir : DIRECTIONS){
             int newRow = row + dir[0];
             int newCol = col + dir[1];
 
@@ -346,6 +719,7 @@ public class Board implements Serializable{
                 Tile tile = player.removeTile(letter);
                 if (tile != null) {
                     grid[r][c] = tile;
+                    tileChanged(r, c);
                 }
             }
         }
@@ -436,6 +810,11 @@ public class Board implements Serializable{
             }
         }
         firstWordPlaced = false;
+        indexTiles();
+        //every square is empty again, so find the cross-checks from scratch
+        Dictionary attached = dictionary;
+        setDictionary(null);
+        setDictionary(attached);
         return true;
     }
 
@@ -446,10 +825,8 @@ public class Board implements Serializable{
      */
     public boolean isEmpty(){
         for(int i = 0; i < BOARD_SIZE; i++){
-            for (int j = 0; j < BOARD_SIZE; j++){
-                if (grid[i][j] != null){
-                    return false;
-                }
+            if (rowFirst[i] >= 0){
+                return false;
             }
         }
         return true;
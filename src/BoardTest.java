@@ -262,4 +262,95 @@ public class BoardTest {
     }
 
 
+    /**
+     * test that the cross-checks and cross scores follow the tiles placed and removed
+     */
+    @Test
+    public void testCrossChecks(){
+        board.setDictionary(new Dictionary(new HashLexicon(java.util.Arrays.asList("cat", "cats", "ta", "at"))));
+        board.placeTile(7, 6, new Tile('C'));
+        board.placeTile(7, 7, new Tile('A'));
+        board.placeTile(7, 8, new Tile('T'));
+
+        //under the T only an A makes a word down, TA
+        assertEquals(1 << ('A' - 'A'), board.getCrossCheck(8, 8, 1));
+        assertEquals(new Tile('T').getValue(), board.getCrossScore(8, 8, 1));
+        //after CAT only an S makes a word across, CATS
+        assertEquals(1 << ('S' - 'A'), board.getCrossCheck(7, 9, 2));
+        assertEquals(5, board.getCrossScore(7, 9, 2));
+        //nothing is formed down from the square after CAT
+        assertEquals(Board.ALL_LETTERS, board.getCrossCheck(7, 9, 1));
+        assertEquals(-1, board.getCrossScore(7, 9, 1));
+        //filled squares and squares off the board take nothing
+        assertEquals(0, board.getCrossCheck(7, 7, 1));
+        assertEquals(0, board.getCrossCheck(-1, 7, 1));
+
+        board.removeTile(7, 8);
+        assertEquals(Board.ALL_LETTERS, board.getCrossCheck(8, 8, 1));
+        assertEquals(-1, board.getCrossScore(8, 8, 1));
+        //the T can go back after CA
+        assertEquals(1 << ('T' - 'A'), board.getCrossCheck(7, 8, 2));
+    }
+
+    /**
+     * test that a blank on the board counts as its letter in the cross-checks and scores nothing
+     */
+    @Test
+    public void testCrossChecksWithBlank(){
+        board.setDictionary(new Dictionary(new HashLexicon(java.util.Arrays.asList("cat", "cats", "at"))));
+        Tile blank = new Tile(true);
+        blank.setRepresentedLetter('A');
+        board.placeTile(7, 6, new Tile('C'));
+        board.placeTile(7, 7, blank);
+        board.placeTile(7, 8, new Tile('T'));
+
+        //under the blank A only a T makes a word down, AT, and the blank adds nothing to its score
+        assertEquals(1 << ('T' - 'A'), board.getCrossCheck(8, 7, 1));
+        assertEquals(0, board.getCrossScore(8, 7, 1));
+        //CATS counts the C and the T but not the blank
+        assertEquals(1 << ('S' - 'A'), board.getCrossCheck(7, 9, 2));
+        assertEquals(new Tile('C').getValue() + new Tile('T').getValue(), board.getCrossScore(7, 9, 2));
+    }
+
+    /**
+     * test that the cross-checks cannot be read without a dictionary
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testCrossChecksNeedDictionary(){
+        board.getCrossCheck(7, 7, 1);
+    }
+
+    /**
+     * test that the anchors and the extents of the lines follow the tiles placed and removed
+     */
+    @Test
+    public void testAnchorsAndExtents(){
+        assertEquals(0, board.getRowAnchors(7));
+        assertEquals(-1, board.getRowFirst(7));
+
+        board.placeTile(7, 7, new Tile('A'));
+        board.placeTile(7, 8, new Tile('T'));
+        assertTrue(board.isAnchor(7, 6));
+        assertTrue(board.isAnchor(7, 9));
+        assertTrue(board.isAnchor(6, 8));
+        assertFalse("filled squares are not anchors", board.isAnchor(7, 7));
+        assertFalse(board.isAnchor(5, 7));
+        assertEquals((1 << 6) | (1 << 9), board.getRowAnchors(7));
+        assertEquals((1 << 6) | (1 << 8), board.getColumnAnchors(7));
+        assertEquals(7, board.getRowFirst(7));
+        assertEquals(8, board.getRowLast(7));
+        assertEquals(7, board.getColumnFirst(8));
+        assertEquals(7, board.getColumnLast(8));
+
+        board.removeTile(7, 7);
+        assertTrue("the removed square is next to the T", board.isAnchor(7, 7));
+        assertFalse(board.isAnchor(7, 6));
+        assertEquals(8, board.getRowFirst(7));
+        assertEquals(-1, board.getColumnFirst(7));
+
+        board.clearBoard();
+        assertEquals(0, board.getRowAnchors(7));
+        assertEquals(-1, board.getRowLast(7));
+    }
+
 }
@@ -0,0 +1,337 @@
+import java.util.*;
+
+/**
+ * Directed acyclic word graph (a minimized trie) lexicon.
+ * Words that share an ending share the nodes for it, so the graph is several times smaller than
+ * the word list, and it can be walked one letter at a time for prefix checks and move generation.
+ *
+ * The graph is built once from a word list and then stored in flat int arrays:
+ * each node has a mask of its edge letters (plus a terminal flag) and the index of its first
+ * edge, and the edges of a node are stored in letter order so the edge for a letter is found by
+ * counting the bits of the mask below it.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class Dawg implements TrieLexicon {
+    //bits of a node's info that hold its edge mask, and the bit marking a terminal node
+    static final int EDGE_BITS = (1 << 27) - 1;
+    static final int TERMINAL = 1 << 30;
+
+    private final int[] nodeInfo;
+    private final int[] firstEdge;
+    private final int[] edgeTarget;
+    private final int wordCount;
+
+    /**
+     * Constructor from already built arrays, used when loading a compiled graph.
+     * @param nodeInfo the edge mask and terminal flag of every node, the root being node 0
+     * @param firstEdge the index of the first edge of every node
+     * @param edgeTarget the node every edge leads to
+     * @param wordCount the number of words in the graph
+     */
+    Dawg(int[] nodeInfo, int[] firstEdge, int[] edgeTarget, int wordCount) {
+        this.nodeInfo = nodeInfo;
+        this.firstEdge = firstEdge;
+        this.edgeTarget = edgeTarget;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * Builds a minimized word graph from a word list.
+     * Words are lower cased, and blank words or words with characters other than letters are skipped.
+     * @param wordList the words
+     * @return the word graph
+     */
+    public static Dawg build(Collection<String> wordList) {
+        List<String> words = new ArrayList<>(wordList.size());
+        for (String word : wordList) {
+            word = word.trim().toLowerCase();
+            if (!word.isEmpty() && word.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                words.add(word);
+            }
+        }
+        Collections.sort(words);
+
+        Builder builder = new Builder();
+        String previous = null;
+        for (String word : words) {
+            if (!word.equals(previous)) {
+                builder.add(word);
+                previous = word;
+            }
+        }
+        return builder.finish();
+    }
+
+    @Override
+    public int root() {
+        return 0;
+    }
+
+    @Override
+    public int child(int node, int letter) {
+        int info = nodeInfo[node];
+        if ((info & (1 << letter)) == 0) {
+            return NO_NODE;
+        }
+        return edgeTarget[firstEdge[node] + Integer.bitCount(info & ((1 << letter) - 1))];
+    }
+
+    @Override
+    public boolean isTerminal(int node) {
+        return (nodeInfo[node] & TERMINAL) != 0;
+    }
+
+    @Override
+    public int edgeMask(int node) {
+        return nodeInfo[node] & EDGE_BITS;
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Gets the number of nodes in the graph.
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nodeInfo.length;
+    }
+
+    /**
+     * Gets the number of edges in the graph.
+     * @return the number of edges
+     */
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    /**
+     * Gets the number of bytes the arrays of the graph take up.
+     * @return the size of the graph in bytes
+     */
+    public long getMemoryBytes() {
+        return 4L * (nodeInfo.length + firstEdge.length + edgeTarget.length);
+    }
+
+    int[] getNodeInfo() {
+        return nodeInfo;
+    }
+
+    int[] getFirstEdge() {
+        return firstEdge;
+    }
+
+    int[] getEdgeTarget() {
+        return edgeTarget;
+    }
+
+    /**
+     * Builds the graph from words added in sorted order, merging equivalent nodes as soon as
+     * no more words can be added below them (Daciuk's incremental algorithm).
+     */
+    static class Builder {
+        private final Node root = new Node();
+        //nodes already merged, keyed by their terminal flag and children
+        private final Map<Node, Node> register = new HashMap<>();
+        //the path of the last word added, those nodes may still get children
+        private final List<Node> path = new ArrayList<>();
+        private String previous = "";
+        private int wordCount = 0;
+
+        /**
+         * Adds a word, which must come after every word already added in sorted order.
+         * @param word the word to add, as symbols 'a' to 'z'
+         */
+        void add(CharSequence word) {
+            int common = 0;
+            while (common < word.length() && common < previous.length()
+                    && word.charAt(common) == previous.charAt(common)) {
+                common++;
+            }
+            minimize(common);
+
+            Node node = path.isEmpty() ? root : path.get(path.size() - 1);
+            for (int i = common; i < word.length(); i++) {
+                Node next = new Node();
+                node.addChild(symbol(word.charAt(i)), next);
+                path.add(next);
+                node = next;
+            }
+            node.terminal = true;
+            previous = word.toString();
+            wordCount++;
+        }
+
+        /**
+         * Maps a character of a word to its edge symbol.
+         * @param c the character
+         * @return the symbol
+         */
+        int symbol(char c) {
+            return c - 'a';
+        }
+
+        /**
+         * Merges every node still on the last word's path into the register, once every word has been added.
+         */
+        void minimizeAll() {
+            minimize(0);
+        }
+
+        /**
+         * Merges the nodes of the last word's path below a depth into the register.
+         */
+        private void minimize(int depth) {
+            while (path.size() > depth) {
+                Node node = path.remove(path.size() - 1);
+                Node parent = path.isEmpty() ? root : path.get(path.size() - 1);
+                Node existing = register.putIfAbsent(node, node);
+                if (existing != null) {
+                    parent.replaceLastChild(existing);
+                }
+            }
+        }
+
+        /**
+         * Finishes the graph and packs it into arrays, numbering the nodes breadth first from the root.
+         * @return the finished graph
+         */
+        Dawg finish() {
+            minimize(0);
+            return pack(root, wordCount);
+        }
+
+        /**
+         * Merges builders that each hold the strings starting with different symbols into one graph. Nodes
+         * that are equivalent across the parts are merged, so the graph is the same one a single builder given
+         * every string would make. The parts are used up.
+         * @param parts the parts, with every string added and minimized, in the order of their first symbols
+         * @return the finished graph
+         */
+        static Dawg merge(List<Builder> parts) {
+            Node root = new Node();
+            Map<Node, Node> register = new HashMap<>();
+            Map<Node, Node> merged = new IdentityHashMap<>();
+            int wordCount = 0;
+            for (Builder part : parts) {
+                int mask = part.root.mask;
+                for (int c = 0; c < part.root.count; c++) {
+                    root.addChild(Integer.numberOfTrailingZeros(mask), merge(part.root.children[c], register, merged));
+                    mask &= mask - 1;
+                }
+                root.terminal |= part.root.terminal;
+                wordCount += part.wordCount;
+            }
+            return pack(root, wordCount);
+        }
+
+        /**
+         * Replaces the children of a node by their merged nodes, deepest first, and then the node itself.
+         * @return the node from the register equivalent to the node
+         */
+        private static Node merge(Node node, Map<Node, Node> register, Map<Node, Node> merged) {
+            Node result = merged.get(node);
+            if (result != null) {
+                return result;
+            }
+            for (int c = 0; c < node.count; c++) {
+                node.children[c] = merge(node.children[c], register, merged);
+            }
+            result = register.putIfAbsent(node, node);
+            if (result == null) {
+                result = node;
+            }
+            merged.put(node, result);
+            return result;
+        }
+
+        /**
+         * Packs a graph into arrays, numbering the nodes breadth first from the root.
+         */
+        private static Dawg pack(Node root, int wordCount) {
+            Map<Node, Integer> ids = new IdentityHashMap<>();
+            List<Node> order = new ArrayList<>();
+            ids.put(root, 0);
+            order.add(root);
+            int edges = 0;
+            for (int i = 0; i < order.size(); i++) {
+                Node node = order.get(i);
+                edges += node.count;
+                for (int c = 0; c < node.count; c++) {
+                    if (!ids.containsKey(node.children[c])) {
+                        ids.put(node.children[c], order.size());
+                        order.add(node.children[c]);
+                    }
+                }
+            }
+
+            int[] nodeInfo = new int[order.size()];
+            int[] firstEdge = new int[order.size()];
+            int[] edgeTarget = new int[edges];
+            int edge = 0;
+            for (int i = 0; i < order.size(); i++) {
+                Node node = order.get(i);
+                nodeInfo[i] = node.mask | (node.terminal ? TERMINAL : 0);
+                firstEdge[i] = edge;
+                for (int c = 0; c < node.count; c++) {
+                    edgeTarget[edge++] = ids.get(node.children[c]);
+                }
+            }
+            return new Dawg(nodeInfo, firstEdge, edgeTarget, wordCount);
+        }
+    }
+
+    /**
+     * A node of the graph while it is being built. Children are kept in symbol order because
+     * words are added in sorted order.
+     */
+    private static class Node {
+        boolean terminal;
+        int mask;
+        Node[] children = new Node[2];
+        int count;
+
+        void addChild(int symbol, Node child) {
+            if (count == children.length) {
+                children = Arrays.copyOf(children, count * 2);
+            }
+            children[count++] = child;
+            mask |= 1 << symbol;
+        }
+
+        void replaceLastChild(Node child) {
+            children[count - 1] = child;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Node)) {
+                return false;
+            }
+            Node other = (Node) o;
+            if (terminal != other.terminal || mask != other.mask) {
+                return false;
+            }
+            //children are already merged, so equivalent children are the same object
+            for (int c = 0; c < count; c++) {
+                if (children[c] != other.children[c]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = mask * 31 + (terminal ? 1 : 0);
+            for (int c = 0; c < count; c++) {
+                hash = hash * 31 + System.identityHashCode(children[c]);
+            }
+            return hash;
+        }
+    }
+}
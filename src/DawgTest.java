@@ -0,0 +1,69 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Test class for Dawg.
+ * Tests that the word graph holds exactly the words it was built from and can be walked by prefix.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class DawgTest {
+    private Dawg dawg;
+
+    @Before
+    public void setUp(){
+        dawg = Dawg.build(Arrays.asList("cat", "cats", "car", "cart", "carts", "dog", "dogs", "Cat", "", "x-ray"));
+    }
+
+    @Test
+    public void testContains(){
+        assertTrue("'cat' should be in the graph", dawg.contains("cat"));
+        assertTrue("'CARTS' should be in the graph", dawg.contains("CARTS"));
+        assertTrue("'dogs' should be in the graph", dawg.contains("dogs"));
+        assertFalse("'ca' is only a prefix", dawg.contains("ca"));
+        assertFalse("'do' is only a prefix", dawg.contains("do"));
+        assertFalse("'cow' should not be in the graph", dawg.contains("cow"));
+        assertFalse("'' should not be in the graph", dawg.contains(""));
+        assertFalse("'x-ray' has a character that is not a letter", dawg.contains("x-ray"));
+    }
+
+    @Test
+    public void testSize(){
+        assertEquals("Duplicates and invalid words should be skipped", 7, dawg.size());
+        assertEquals(Arrays.asList("car", "cart", "carts", "cat", "cats", "dog", "dogs"), dawg.words());
+    }
+
+    @Test
+    public void testPrefix(){
+        assertTrue("'car' starts words", dawg.hasPrefix("car"));
+        assertTrue("'' starts every word", dawg.hasPrefix(""));
+        assertFalse("no word starts with 'cd'", dawg.hasPrefix("cd"));
+    }
+
+    @Test
+    public void testEdges(){
+        int node = dawg.walk("ca");
+        assertEquals("'ca' should have edges for r and t", (1 << ('r' - 'a')) | (1 << ('t' - 'a')), dawg.edgeMask(node));
+        assertEquals(TrieLexicon.NO_NODE, dawg.child(node, 'z' - 'a'));
+    }
+
+    @Test
+    public void testSharedSuffixes(){
+        //the 's' endings of cats, carts and dogs are the same node
+        assertEquals(dawg.walk("cats"), dawg.walk("dogs"));
+        assertEquals(dawg.walk("cat"), dawg.walk("cart"));
+    }
+
+    @Test
+    public void testMatchesWordFile(){
+        List<String> words = Dictionary.wordList();
+        Dawg full = Dawg.build(words);
+        assertEquals("DAWG should have 10000 words", 10000, full.size());
+        for (String word : words) {
+            assertTrue(word + " should be in the graph", full.contains(word));
+        }
+        assertTrue("DAWG should be smaller than the word list", full.getNodeCount() < 10000 * 3);
+    }
+}
@@ -2,22 +2,203 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
+import java.util.function.DoubleConsumer;
 
+/**
+ * Dictionary class for the Scrabble game.
+ * Checks words against a Lexicon, by default a hashed index so that validating a word is a
+ * single hash lookup. It can also be backed by a word graph (DAWG), which uses less memory and
+ * supports prefix walks for move generation, by a compiled lexicon file mapped into memory, by a
+ * succinct trie (LOUDS) when memory matters more than lookup speed, or by a minimal perfect hash.
+ * With a mapped or off heap lexicon the dictionary is only a small facade on the heap: the indexes below are
+ * built from the words the first time something asks for them, and the list of every word is not kept, so
+ * the heap only holds a String per word while an index that needs them is being built or is in use.
+ *
+ * @author Joseph Dereje
+ * @version 3.0
+ */
 public class Dictionary {
-    private List<String> validWords;
+    private static final String DEFAULT_WORD_FILE = "scrabbleWords.txt";
+    private static final String COMPILED_EXTENSION = ".lex";
+    private static final String GADDAG_EXTENSION = ".gaddag";
 
+    /**
+     * The ways the words of a dictionary can be stored.
+     */
+    public enum Backend {
+        HASH, DAWG, MAPPED, LOUDS, PERFECT_HASH, OFF_HEAP
+    }
+
+    private final Lexicon lexicon;
+    //word graph for prefix walks, the lexicon itself if it is one, otherwise built the first time it is needed
+    private TrieLexicon trie;
+    //GADDAG for move generation, built the first time it is needed
+    private Gaddag gaddag;
+    //compiled GADDAG file to read instead of building the GADDAG, null if there is no up to date one
+    private String gaddagFile;
+    //every word in lower case, listed the first time it is needed, unless the lexicon is off heap
+    private List<String> words;
+    //words by anagram signature for rack queries, built the first time it is needed
+    private AnagramIndex anagramIndex;
+    //packed letter counts of every word for rack filters, built the first time they are needed
+    private LetterCounts letterCounts;
+    //words by length and by the letters at their positions for slot queries, built the first time it is needed
+    private WordIndex wordIndex;
+    //letters that hook onto each run of letters, built the first time they are needed
+    private HookIndex hooks;
+    //optional filter that rejects most non-words before the lexicon is asked, null when off
+    private volatile BloomFilter bloomFilter;
+
+    /**
+     * Constructor, loads the default word file.
+     */
     public Dictionary() {
-        validWords = new ArrayList<>();
-        validWords = wordList();
+        this(DEFAULT_WORD_FILE);
+    }
+
+    /**
+     * Constructor, loads the words from a word file with one word per line.
+     * If the word file has been compiled with LexiconCompiler and the compiled file is up to date, the compiled
+     * file is mapped instead, which is much faster and keeps the words out of the heap.
+     * @param fileName the path of the word file, or of a compiled lexicon file
+     */
+    public Dictionary(String fileName) {
+        this(fileName, fraction -> { });
+    }
+
+    /**
+     * Constructor, loads the words from a word file and reports how much of it has been read, so a caller
+     * loading it in the background can show progress.
+     * @param fileName the path of the word file, or of a compiled lexicon file
+     * @param progress called with the fraction of the file read so far, from 0 to 1
+     */
+    public Dictionary(String fileName, DoubleConsumer progress) {
+        this(loadLexicon(fileName, progress));
+        File compiledGaddag = new File(gaddagFileName(fileName));
+        if (compiledGaddag.isFile() && compiledGaddag.lastModified() >= new File(fileName).lastModified()) {
+            gaddagFile = compiledGaddag.getPath();
+        }
+    }
+
+    /**
+     * Constructor, loads the words from a word file into the given kind of lexicon.
+     * @param fileName the path of the word file
+     * @param backend how the words are stored
+     */
+    public Dictionary(String fileName, Backend backend) {
+        this(switch (backend) {
+            case MAPPED -> openCompiled(fileName);
+            case DAWG -> Dawg.build(wordList(fileName));
+            case LOUDS -> new LoudsTrie(wordList(fileName));
+            case PERFECT_HASH -> PerfectHashLexicon.build(wordList(fileName));
+            case HASH -> new HashLexicon(wordList(fileName));
+            case OFF_HEAP -> MappedLexicon.offHeap(wordList(fileName));
+        });
+    }
+
+    /**
+     * Constructor for a dictionary backed by an existing lexicon.
+     * @param lexicon the lexicon to check words against
+     */
+    public Dictionary(Lexicon lexicon) {
+        this.lexicon = lexicon;
+        if (lexicon instanceof TrieLexicon) {
+            trie = (TrieLexicon) lexicon;
+        }
+    }
+
+    /**
+     * Loads the lexicon for a word file, mapping its compiled file if there is an up to date one. Otherwise
+     * the words are hashed on the heap, or built into a word graph outside the heap if the scrabble.offheap
+     * system property is true, which suits big word lists in programs that host many games.
+     */
+    private static Lexicon loadLexicon(String fileName, DoubleConsumer progress) {
+        if (fileName.endsWith(COMPILED_EXTENSION)) {
+            return openCompiled(Paths.get(fileName));
+        }
+        File words = new File(fileName);
+        File compiled = new File(compiledFileName(fileName));
+        if (compiled.isFile() && compiled.lastModified() >= words.lastModified()) {
+            try {
+                return MappedLexicon.openAny(compiled.toPath());
+            } catch (IOException e) {
+                System.err.println("Could not use " + compiled + ", reading " + fileName + " instead: " + e.getMessage());
+            }
+        }
+        if (Boolean.getBoolean("scrabble.offheap")) {
+            return MappedLexicon.offHeap(wordList(fileName, progress));
+        }
+        return new HashLexicon(wordList(fileName, progress));
+    }
+
+    /**
+     * Maps the compiled file of a word file, reading the word file instead if the compiled file can not be used.
+     */
+    private static Lexicon openCompiled(String fileName) {
+        File compiled = new File(compiledFileName(fileName));
+        try {
+            return MappedLexicon.openAny(compiled.toPath());
+        } catch (IOException e) {
+            System.err.println("Could not use " + compiled + ", reading " + fileName + " instead: " + e.getMessage());
+            return new HashLexicon(wordList(fileName));
+        }
+    }
+
+    /**
+     * Maps a compiled lexicon file given without its word file.
+     * @throws UncheckedIOException if the file can not be used, as there are no words to fall back on
+     */
+    private static Lexicon openCompiled(Path path) {
+        try {
+            return MappedLexicon.openAny(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not use the lexicon file " + path, e);
+        }
+    }
+
+    /**
+     * Gets the name of the compiled lexicon file for a word file, the word file with a .lex extension.
+     * @param fileName the path of the word file
+     * @return the path of the compiled file
+     */
+    public static String compiledFileName(String fileName) {
+        if (fileName.endsWith(COMPILED_EXTENSION)) {
+            return fileName;
+        }
+        int dot = fileName.lastIndexOf('.');
+        int slash = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf(File.separatorChar));
+        return (dot > slash ? fileName.substring(0, dot) : fileName) + COMPILED_EXTENSION;
+    }
 
+    /**
+     * Gets the name of the compiled GADDAG file for a word file, the word file with a .gaddag extension.
+     * @param fileName the path of the word file, or of its compiled lexicon file
+     * @return the path of the compiled GADDAG file
+     */
+    public static String gaddagFileName(String fileName) {
+        String compiled = compiledFileName(fileName);
+        return compiled.substring(0, compiled.length() - COMPILED_EXTENSION.length()) + GADDAG_EXTENSION;
     }
 
+    /**
+     * Reads the default word file.
+     * @return every line of the default word file
+     */
     public static List<String> wordList() {
+        return wordList(DEFAULT_WORD_FILE);
+    }
+
+    /**
+     * Reads a word file.
+     * @param fileName the path of the word file
+     * @return every line of the word file, or an empty list if it could not be read
+     */
+    public static List<String> wordList(String fileName) {
         List<String> lines = Collections.emptyList();
 
         try {
             lines = Files.readAllLines(
-                    Paths.get("scrabbleWords.txt"),
+                    Paths.get(fileName),
                     StandardCharsets.UTF_8);
         } catch (IOException e) {
             e.printStackTrace();
@@ -27,11 +208,405 @@ public class Dictionary {
 
     }
 
+    /**
+     * Reads a word file, reporting how much of it has been read.
+     * @param fileName the path of the word file
+     * @param progress called with the fraction of the file read so far, from 0 to 1
+     * @return every line of the word file, or an empty list if it could not be read
+     */
+    public static List<String> wordList(String fileName, DoubleConsumer progress) {
+        List<String> lines = new ArrayList<>();
+        long length = Math.max(1, new File(fileName).length());
+        long read = 0;
+        int reported = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                //word files are ascii, so a character and its line break are about one byte each
+                read += line.length() + 1;
+                int percent = (int) Math.min(100, read * 100 / length);
+                if (percent > reported) {
+                    reported = percent;
+                    progress.accept(percent / 100.0);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Collections.emptyList();
+        }
+        progress.accept(1);
+
+        return lines;
+    }
+
+    /**
+     * Checks if a word is in the dictionary, ignoring case.
+     * @param word the word to check
+     * @return true if the word is valid
+     */
     public boolean validWord(String word) {
-        return validWords.contains(word.toLowerCase());
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(word)) {
+            return false;
+        }
+        boolean valid = lexicon.contains(word);
+        if (filter != null && !valid) {
+            filter.recordFalsePositive();
+        }
+        return valid;
+    }
+
+    /**
+     * Checks if the word in a slice of a char array is in the dictionary, ignoring case, without making a
+     * String, so words can be checked straight from a reused buffer.
+     * @param letters the buffer holding the word
+     * @param offset the index of the word's first letter
+     * @param length the number of letters
+     * @return true if the word is valid
+     */
+    public boolean validWord(char[] letters, int offset, int length) {
+        BloomFilter filter = bloomFilter;
+        if (filter != null && !filter.mightContain(letters, offset, length)) {
+            return false;
+        }
+        boolean valid = lexicon.contains(letters, offset, length);
+        if (filter != null && !valid) {
+            filter.recordFalsePositive();
+        }
+        return valid;
+    }
+
+    /**
+     * Checks every word in a word buffer, stopping at the first one that is not in the dictionary. The words
+     * are looked up in place, so this makes no garbage.
+     * @param words the words to check
+     * @return the number of a word that is not in the dictionary, or -1 if they all are
+     */
+    public int validateAll(WordBuffer words) {
+        BloomFilter filter = bloomFilter;
+        if (filter != null) {
+            for (int i = 0; i < words.size(); i++) {
+                if (!filter.mightContain(words.letters(), words.start(i), words.length(i))) {
+                    return i;
+                }
+            }
+        }
+        for (int i = 0; i < words.size(); i++) {
+            if (!lexicon.contains(words.letters(), words.start(i), words.length(i))) {
+                if (filter != null) {
+                    filter.recordFalsePositive();
+                }
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks every word a move forms in one call, stopping at the first one that is not in the dictionary.
+     * With a Bloom filter every word goes through the filter before any exact lookup, and with a word graph
+     * the words are looked up in sorted order so a word walks on from where the previous one left the graph
+     * instead of from the root.
+     * @param words the words to check, in any case
+     * @return a word that is not in the dictionary, or null if they all are
+     */
+    public String validateAll(Collection<? extends CharSequence> words) {
+        BloomFilter filter = bloomFilter;
+        if (filter != null) {
+            for (CharSequence word : words) {
+                if (!filter.mightContain(word)) {
+                    return word.toString();
+                }
+            }
+        }
+        String failed = lexicon instanceof TrieLexicon && words.size() > 1
+                ? firstMissing((TrieLexicon) lexicon, words) : firstMissing(words);
+        if (filter != null && failed != null) {
+            filter.recordFalsePositive();
+        }
+        return failed;
+    }
+
+    /**
+     * Checks words one at a time against the lexicon.
+     */
+    private String firstMissing(Collection<? extends CharSequence> words) {
+        for (CharSequence word : words) {
+            if (!lexicon.contains(word)) {
+                return word.toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks words in sorted order against a word graph, walking each word on from the longest prefix it
+     * shares with the word before it.
+     */
+    private static String firstMissing(TrieLexicon trie, Collection<? extends CharSequence> words) {
+        String[] sorted = new String[words.size()];
+        int count = 0;
+        for (CharSequence word : words) {
+            sorted[count++] = word.toString().toLowerCase();
+        }
+        Arrays.sort(sorted);
+        //path[d] is the node reached by the first d letters of the previous word, walked up to depth
+        int[] path = new int[16];
+        path[0] = trie.root();
+        int depth = 0;
+        String previous = "";
+        for (String word : sorted) {
+            int shared = 0;
+            int limit = Math.min(depth, Math.min(previous.length(), word.length()));
+            while (shared < limit && previous.charAt(shared) == word.charAt(shared)) {
+                shared++;
+            }
+            if (path.length <= word.length()) {
+                path = Arrays.copyOf(path, word.length() + 1);
+            }
+            depth = shared;
+            int node = path[depth];
+            while (depth < word.length()) {
+                int letter = TrieLexicon.letterIndex(word.charAt(depth));
+                node = letter < 0 ? TrieLexicon.NO_NODE : trie.child(node, letter);
+                if (node == TrieLexicon.NO_NODE) {
+                    return word;
+                }
+                path[++depth] = node;
+            }
+            if (!trie.isTerminal(node)) {
+                return word;
+            }
+            previous = word;
+        }
+        return null;
+    }
+
+    /**
+     * Puts a Bloom filter in front of the lexicon, so most words that are not in the dictionary are rejected
+     * after a few bit probes instead of an exact lookup. Lookups give the same answers with or without it.
+     * @param falsePositiveRate the fraction of non-words the filter lets through to the lexicon, between 0 and 1
+     * @return the filter, which counts the lookups it rejects and passes
+     */
+    public BloomFilter enableBloomFilter(double falsePositiveRate) {
+        BloomFilter filter = new BloomFilter(getWords(), falsePositiveRate);
+        bloomFilter = filter;
+        return filter;
+    }
+
+    /**
+     * Removes the Bloom filter, so every lookup goes to the lexicon.
+     */
+    public void disableBloomFilter() {
+        bloomFilter = null;
+    }
+
+    /**
+     * Gets the Bloom filter in front of the lexicon.
+     * @return the filter, or null if there is none
+     */
+    public BloomFilter getBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * Checks if any word in the dictionary starts with a prefix, ignoring case.
+     * @param prefix the prefix to check
+     * @return true if at least one word starts with the prefix
+     */
+    public boolean isPrefix(String prefix) {
+        return getTrie().hasPrefix(prefix);
+    }
+
+    /**
+     * Finds the words that match a pattern of letters, '?' for any letter, '*' for any run of letters and
+     * sets like [aei], such as "?a??e*" or "*ing". See WordQuery.
+     * @param pattern the pattern to match
+     * @return the matching words in lower case and alphabetical order
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    public List<String> query(String pattern) {
+        return query(new WordQuery(pattern));
+    }
+
+    /**
+     * Finds the words that match a pattern and a length range, stopping once enough have been found.
+     * @param pattern the pattern to match
+     * @param minLength the shortest words to return
+     * @param maxLength the longest words to return
+     * @param limit the most words to return
+     * @return the matching words in lower case and alphabetical order
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    public List<String> query(String pattern, int minLength, int maxLength, int limit) {
+        return query(new WordQuery(pattern, minLength, maxLength, limit));
+    }
+
+    /**
+     * Runs a word query by walking the dictionary's word graph.
+     * @param query the query
+     * @return the matching words in lower case and alphabetical order
+     */
+    public List<String> query(WordQuery query) {
+        return query.run(getTrie());
+    }
+
+    /**
+     * Gets the dictionary as a word graph that can be walked letter by letter.
+     * If the dictionary is not backed by one, a DAWG is built from its words the first time.
+     * @return the word graph
+     */
+    public synchronized TrieLexicon getTrie() {
+        if (trie == null) {
+            trie = Dawg.build(getWords());
+        }
+        return trie;
+    }
+
+    /**
+     * Gets the dictionary as a GADDAG, which move generators use to grow words in both directions from a
+     * square. It is read from the word file's compiled GADDAG file if LexiconBuilder made an up to date one,
+     * and otherwise built from the words, the first time it is needed.
+     * @return the GADDAG
+     */
+    public synchronized Gaddag getGaddag() {
+        if (gaddag == null && gaddagFile != null) {
+            try {
+                gaddag = Gaddag.open(Paths.get(gaddagFile));
+            } catch (IOException e) {
+                System.err.println("Could not use " + gaddagFile + ", building the GADDAG instead: " + e.getMessage());
+            }
+        }
+        if (gaddag == null) {
+            gaddag = Gaddag.build(getWords());
+        }
+        return gaddag;
+    }
+
+    /**
+     * Gets the index of the dictionary's words by anagram signature, used to find the words a rack can make.
+     * It is built from the words the first time it is needed.
+     * @return the anagram index
+     */
+    public synchronized AnagramIndex getAnagramIndex() {
+        if (anagramIndex == null) {
+            anagramIndex = new AnagramIndex(getWords());
+        }
+        return anagramIndex;
+    }
+
+    /**
+     * Gets the packed letter counts of the dictionary's words, which check a word against a rack without
+     * allocating. They are built from the words the first time they are needed.
+     * @return the letter counts
+     */
+    public synchronized LetterCounts getLetterCounts() {
+        if (letterCounts == null) {
+            letterCounts = new LetterCounts(getWords());
+        }
+        return letterCounts;
+    }
+
+    /**
+     * Gets the index of the dictionary's words by length and by the letters at their positions, which narrows
+     * move generation and slot queries down to the words that fit on the board. It is built from the words the
+     * first time it is needed and only holds words that fit on the board.
+     * @return the word index
+     */
+    public synchronized WordIndex getWordIndex() {
+        if (wordIndex == null) {
+            wordIndex = new WordIndex(getWords(), Board.BOARD_SIZE);
+        }
+        return wordIndex;
+    }
+
+    /**
+     * Gets the letters that can be put before or after a run of letters to make a word, which checks a cross word
+     * extending a word on the board with one lookup. They are found from the words the first time they are needed.
+     * @return the hook index
+     */
+    public synchronized HookIndex getHooks() {
+        if (hooks == null) {
+            hooks = new HookIndex(getWords());
+        }
+        return hooks;
+    }
+
+    /**
+     * Gets the letters that make a word when put before a run of letters, such as the S of "scab" for "cab".
+     * @param letters the run of letters, in any case
+     * @return a mask with bit i set if letter i ('a' + i) hooks
+     */
+    public int frontHooks(String letters) {
+        return getHooks().frontHooks(letters);
+    }
+
+    /**
+     * Gets the letters that make a word when put after a run of letters, such as the S of "cats" for "cat".
+     * @param letters the run of letters, in any case
+     * @return a mask with bit i set if letter i ('a' + i) hooks
+     */
+    public int backHooks(String letters) {
+        return getHooks().backHooks(letters);
+    }
+
+    /**
+     * Gets every word that fits a slot on the board.
+     * @param slot a letter for each square with a known letter and '?' for each empty square
+     * @return the words in lower case and alphabetical order
+     */
+    public List<String> wordsFitting(String slot) {
+        return getWordIndex().fitting(slot);
+    }
+
+    /**
+     * Gets every word that can be made from some of the letters of a rack plus up to a number of extra letters,
+     * which can stand for board letters or blank tiles. Every word is checked against the rack with its packed
+     * letter counts.
+     * @param rack the letters of the rack, characters other than letters are ignored
+     * @param extraLetters the most extra letters a word can use
+     * @return the words
+     */
+    public List<String> formableWords(String rack, int extraLetters) {
+        return getLetterCounts().formable(rack, extraLetters);
+    }
+
+    /**
+     * Gets every word in the dictionary in lower case. The list is made once and shared, so it can not be changed.
+     * If the lexicon is off heap the list is made again each time, so its Strings do not stay on the heap.
+     * @return every word
+     */
+    public synchronized List<String> getWords() {
+        if (words != null) {
+            return words;
+        }
+        List<String> list = Collections.unmodifiableList(lexicon.words());
+        if (!isOffHeap()) {
+            words = list;
+        }
+        return list;
+    }
+
+    /**
+     * Checks if the words are kept outside the Java heap, in a mapped compiled file or an off heap lexicon.
+     * @return true if the lexicon is off heap
+     */
+    public boolean isOffHeap() {
+        return (lexicon instanceof MappedLexicon && ((MappedLexicon) lexicon).isOffHeap())
+                || (lexicon instanceof PerfectHashLexicon && ((PerfectHashLexicon) lexicon).isOffHeap());
+    }
+
+    /**
+     * Gets the lexicon the dictionary checks words against.
+     * @return the lexicon
+     */
+    public Lexicon getLexicon() {
+        return lexicon;
     }
 
     public int getSize(){
-        return validWords.size();
+        return lexicon.size();
     }
 }
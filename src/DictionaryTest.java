@@ -40,6 +40,100 @@ public class DictionaryTest {
 
     }
 
+    @Test
+    public void testDawgBackend(){
+        Dictionary dawgDictionary = new Dictionary("scrabbleWords.txt", Dictionary.Backend.DAWG);
+        assertEquals("Dictionary should have 10000 words", 10000, dawgDictionary.getSize());
+        assertTrue("'AUBURN' should be a valid word", dawgDictionary.validWord("AUBURN"));
+        assertFalse("'Pedri' should not be a valid word", dawgDictionary.validWord("Pedri"));
+        assertFalse("'' should not be a valid word", dawgDictionary.validWord(""));
+    }
+
+    @Test
+    public void testIsPrefix(){
+        assertTrue("'abro' should start a word", dictionary.isPrefix("abro"));
+        assertTrue("'BOOKST' should start a word", dictionary.isPrefix("BOOKST"));
+        assertFalse("'qxz' should not start a word", dictionary.isPrefix("qxz"));
+    }
+
+    @Test
+    public void testSharedDictionary(){
+        Dictionary shared = LexiconCache.getDefault();
+        assertSame("Every get should return the same dictionary", shared, LexiconCache.get("scrabbleWords.txt"));
+        assertSame("Models should share the dictionary", new ScrabbleModel().getDictionary(),
+                new ScrabbleModel().getDictionary());
+        assertSame("The word list should be made once", shared.getWords(), shared.getWords());
+    }
+
+    @Test
+    public void testReleaseSharedDictionary(){
+        Dictionary shared = LexiconCache.getDefault();
+        assertTrue("Releasing should drop the dictionary", LexiconCache.release("scrabbleWords.txt"));
+        assertFalse(LexiconCache.isLoaded("scrabbleWords.txt"));
+        Dictionary reloaded = LexiconCache.getDefault();
+        assertNotSame("The file should be loaded again after release", shared, reloaded);
+        assertTrue("'abroad' should be a valid word", reloaded.validWord("abroad"));
+    }
+
+    @Test
+    public void testAsyncLoad(){
+        LexiconCache.release("scrabbleWords.txt");
+        LexiconLoad load = LexiconCache.getDefaultAsync();
+        assertSame("Loads of the same file should be shared", load, LexiconCache.getDefaultAsync());
+        ScrabbleModel model = new ScrabbleModel(load);
+        assertTrue("'abroad' should be valid once loaded", model.getDictionary().validWord("abroad"));
+        assertTrue(load.isDone());
+        assertEquals(1.0, load.getProgress(), 0);
+        assertTrue(LexiconCache.isLoaded("scrabbleWords.txt"));
+    }
+
+    @Test
+    public void testWordListProgress(){
+        List<Double> progress = new ArrayList<>();
+        List<String> words = Dictionary.wordList("scrabbleWords.txt", progress::add);
+        assertEquals(Dictionary.wordList(), words);
+        assertTrue("Progress should be reported while reading", progress.size() > 10);
+        assertEquals(1.0, progress.get(progress.size() - 1), 0);
+    }
+
+    @Test
+    public void testValidateAll(){
+        List<String> valid = Arrays.asList("BOOK", "books", "abroad", "book");
+        List<String> oneBad = Arrays.asList("book", "bookq", "abroad");
+        for (Dictionary checked : new Dictionary[]{dictionary, new Dictionary("scrabbleWords.txt", Dictionary.Backend.DAWG)}){
+            assertNull("Every word should be valid", checked.validateAll(valid));
+            assertEquals("bookq", checked.validateAll(oneBad).toLowerCase());
+            assertNull(checked.validateAll(Collections.emptyList()));
+            assertEquals("", checked.validateAll(Arrays.asList("")));
+        }
+        dictionary.enableBloomFilter(0.01);
+        assertNull(dictionary.validateAll(valid));
+        assertEquals("bookq", dictionary.validateAll(oneBad));
+        dictionary.disableBloomFilter();
+    }
+
+    @Test
+    public void testCharSlices(){
+        char[] letters = "xxBOOKsx".toCharArray();
+        WordBuffer words = new WordBuffer();
+        for (String word : new String[]{"book", "ABROAD", "bookq"}){
+            for (char c : word.toCharArray()){
+                words.append(c);
+            }
+            words.endWord();
+        }
+        for (Dictionary checked : new Dictionary[]{dictionary, new Dictionary("scrabbleWords.txt", Dictionary.Backend.DAWG)}){
+            assertTrue(checked.validWord(letters, 2, 4));
+            assertTrue(checked.validWord(letters, 2, 5));
+            assertFalse(checked.validWord(letters, 2, 6));
+            assertEquals(3, words.size());
+            assertEquals("bookq", words.word(2));
+            assertEquals(2, checked.validateAll(words));
+        }
+        words.clear();
+        assertEquals(-1, dictionary.validateAll(words));
+    }
+
     @Test
     public void testWordList(){
         List<String> words = Dictionary.wordList();
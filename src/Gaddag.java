@@ -0,0 +1,165 @@
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * GADDAG lexicon for move generation (Gordon, "A Faster Scrabble Move Generation Algorithm").
+ * Every word is stored once for each of its letters: the letters up to and including that one
+ * reversed, then a separator, then the rest of the word. For "cat" that gives "c>at", "ac>t" and
+ * "tac>". Starting from any letter of a word, a generator can walk left from that letter until it
+ * reaches the separator and then walk right, so words can be grown in both directions from an anchor.
+ *
+ * The strings are stored in the same minimized graph as a Dawg, with the separator as symbol 26.
+ * LexiconBuilder builds the same graph on every core and can write it to a file that open reads back.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class Gaddag {
+    //the symbol of the edge that turns from going left to going right
+    public static final int SEPARATOR = 26;
+    //the character used for the separator, right after 'z' so the strings sort in symbol order
+    static final char SEPARATOR_CHAR = (char) ('a' + SEPARATOR);
+
+    private final Dawg graph;
+    private final int wordCount;
+
+    Gaddag(Dawg graph, int wordCount) {
+        this.graph = graph;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * Builds a GADDAG from a word list.
+     * Words are lower cased, and blank words or words with characters other than letters are skipped.
+     * @param wordList the words
+     * @return the GADDAG
+     */
+    public static Gaddag build(Collection<String> wordList) {
+        Set<String> words = new HashSet<>();
+        for (String word : wordList) {
+            word = word.trim().toLowerCase();
+            if (!word.isEmpty() && word.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                words.add(word);
+            }
+        }
+        List<String> paths = new ArrayList<>();
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                paths.add(path(word, i));
+            }
+        }
+        Collections.sort(paths);
+
+        Dawg.Builder builder = new Dawg.Builder();
+        for (String path : paths) {
+            builder.add(path);
+        }
+        return new Gaddag(builder.finish(), words.size());
+    }
+
+    /**
+     * Reads a GADDAG written by LexiconBuilder or LexiconCompiler into memory.
+     * @param path the path of the file
+     * @return the GADDAG
+     * @throws IOException if the file can not be read or does not hold a valid GADDAG
+     */
+    public static Gaddag open(Path path) throws IOException {
+        MemorySegment image = MappedLexicon.mapSegment(path);
+        MemorySegment data = MappedLexicon.graphData(image, MappedLexicon.TYPE_GADDAG);
+        //the whole file is copied to the heap anyway, so checking it costs little more
+        if (!MappedLexicon.checksumMatches(image)) {
+            throw new IOException("Lexicon file checksum does not match");
+        }
+        int wordCount = image.get(MappedLexicon.INT, 12);
+        int[] nodeInfo = new int[image.get(MappedLexicon.INT, 16)];
+        int[] firstEdge = new int[nodeInfo.length];
+        int[] edgeTarget = new int[image.get(MappedLexicon.INT, 20)];
+        long offset = 0;
+        for (int[] array : new int[][]{nodeInfo, firstEdge, edgeTarget}) {
+            MemorySegment.copy(data, MappedLexicon.INT, offset, array, 0, array.length);
+            offset += 4L * array.length;
+        }
+        return new Gaddag(new Dawg(nodeInfo, firstEdge, edgeTarget, wordCount), wordCount);
+    }
+
+    /**
+     * Makes the string stored for a word starting from one of its letters: the letters up to that one
+     * reversed, the separator and the rest of the word.
+     * @param word the word
+     * @param letter the index of the letter to start from
+     * @return the string
+     */
+    static String path(String word, int letter) {
+        StringBuilder path = new StringBuilder(word.length() + 1);
+        for (int i = letter; i >= 0; i--) {
+            path.append(word.charAt(i));
+        }
+        return path.append(SEPARATOR_CHAR).append(word, letter + 1, word.length()).toString();
+    }
+
+    /**
+     * Gets the root node.
+     * @return the root node
+     */
+    public int root() {
+        return graph.root();
+    }
+
+    /**
+     * Follows the edge labelled with a symbol out of a node.
+     * @param node the node to start from
+     * @param symbol a letter index from 0 to 25, or SEPARATOR
+     * @return the node at the end of the edge, or TrieLexicon.NO_NODE if there is no such edge
+     */
+    public int child(int node, int symbol) {
+        return graph.child(node, symbol);
+    }
+
+    /**
+     * Checks if a node ends a path, meaning the letters walked form a whole word.
+     * @param node the node
+     * @return true if a path ends at this node
+     */
+    public boolean isTerminal(int node) {
+        return graph.isTerminal(node);
+    }
+
+    /**
+     * Gets the symbols of every edge out of a node as a bit mask.
+     * @param node the node
+     * @return the mask of edge symbols, bit SEPARATOR being the separator
+     */
+    public int edgeMask(int node) {
+        return graph.edgeMask(node);
+    }
+
+    /**
+     * Gets the number of words stored.
+     * @return the number of words
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Gets the number of nodes in the graph.
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return graph.getNodeCount();
+    }
+
+    /**
+     * Gets the number of edges in the graph.
+     * @return the number of edges
+     */
+    public int getEdgeCount() {
+        return graph.getEdgeCount();
+    }
+
+    Dawg getGraph() {
+        return graph;
+    }
+}
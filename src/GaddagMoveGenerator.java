@@ -0,0 +1,142 @@
+/**
+ * Generates every legal move for a rack with a GADDAG.
+ * Moves are grown from anchor squares (empty squares next to a tile, or the center square on an empty
+ * board): first leftwards from the anchor, then rightwards after crossing the GADDAG separator.
+ * Letters are only placed on a square if they form valid words with the tiles above and below it
+ * (the square's cross-check), so every move found is valid and no dictionary lookups are needed
+ * afterwards. The cross-checks are read from the board when it keeps them for the same dictionary.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class GaddagMoveGenerator extends MoveGenerator {
+    private final Gaddag gaddag;
+    private final Dictionary dictionary;
+    private final HookIndex hooks;
+
+    //scratch buffer for the words cross checks try
+    private final char[] crossWord = new char[32];
+
+    /**
+     * Constructor
+     * @param gaddag the GADDAG to grow words with
+     * @param dictionary the dictionary to check the words formed across the moves with
+     */
+    public GaddagMoveGenerator(Gaddag gaddag, Dictionary dictionary) {
+        this.gaddag = gaddag;
+        this.dictionary = dictionary;
+        this.hooks = dictionary.getHooks();
+    }
+
+    @Override
+    protected boolean usesCrossChecksOf(Board board) {
+        return board.getDictionary() == dictionary;
+    }
+
+    @Override
+    protected void generateAnchor() {
+        gen(0, gaddag.root(), anchor);
+    }
+
+    /**
+     * Finds the letters that can be placed on an empty square without forming an invalid word across the line,
+     * from the hooks of the tiles on one side, or by looking up the word with each letter when there are tiles
+     * on both sides.
+     * @return the mask of allowed letters
+     */
+    @Override
+    protected int crossCheck(char[][] grid, int row, int col) {
+        int start = row;
+        while (start > 0 && grid[start - 1][col] != 0) {
+            start--;
+        }
+        int end = row;
+        while (end < size - 1 && grid[end + 1][col] != 0) {
+            end++;
+        }
+        if (start == row && end == row) {
+            return Board.ALL_LETTERS;
+        }
+        int length = end - start + 1;
+        for (int r = start; r <= end; r++) {
+            crossWord[r - start] = grid[r][col];
+        }
+        //tiles on one side only, the letters allowed are the hooks of those tiles
+        if (start == row) {
+            return hooks.frontHooks(crossWord, 1, length - 1);
+        }
+        if (end == row) {
+            return hooks.backHooks(crossWord, 0, length - 1);
+        }
+        int allowed = 0;
+        for (int letter = 0; letter < 26; letter++) {
+            //try each letter on the empty square, checking the word in place
+            crossWord[row - start] = (char) ('A' + letter);
+            if (dictionary.validWord(crossWord, 0, length)) {
+                allowed |= 1 << letter;
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Places a letter on the square pos squares from the anchor (negative is left of it), either the tile
+     * already there or each tile of the rack that fits.
+     * @param pos the offset from the anchor
+     * @param node the GADDAG node reached so far
+     * @param leftmost the leftmost square of the word so far
+     */
+    private void gen(int pos, int node, int leftmost) {
+        if (outOfTime()) {
+            return;
+        }
+        int square = anchor + pos;
+        if (cells[square] != 0) {
+            int letter = cells[square] - 'A';
+            int next = gaddag.child(node, letter);
+            if (next != TrieLexicon.NO_NODE) {
+                goOn(pos, cells[square], next, leftmost);
+            }
+            return;
+        }
+        for (int options = gaddag.edgeMask(node) & crossChecks[square] & available(); options != 0; options &= options - 1) {
+            int letter = Integer.numberOfTrailingZeros(options);
+            boolean real = take(letter);
+            goOn(pos, (char) ('A' + letter), gaddag.child(node, letter), leftmost);
+            giveBack(letter, real);
+        }
+    }
+
+    /**
+     * Continues a word after a letter was placed: records it if it is complete, and keeps growing it
+     * leftwards, or rightwards once the separator has been crossed.
+     */
+    private void goOn(int pos, char letter, int node, int leftmost) {
+        int square = anchor + pos;
+        word[square] = letter;
+        if (pos <= 0) {
+            leftmost = square;
+            boolean leftClear = square == 0 || cells[square - 1] == 0;
+            boolean rightClear = anchor == size - 1 || cells[anchor + 1] == 0;
+            int separator = gaddag.child(node, Gaddag.SEPARATOR);
+            if (leftClear && rightClear && separator != TrieLexicon.NO_NODE && gaddag.isTerminal(separator)) {
+                record(leftmost, anchor);
+            }
+            //keep going left, but not onto another anchor, the moves through it are generated from that anchor
+            if (square > 0 && (cells[square - 1] != 0 || (anchors & (1 << (square - 1))) == 0)) {
+                gen(pos - 1, node, leftmost);
+            }
+            if (separator != TrieLexicon.NO_NODE && leftClear && anchor < size - 1) {
+                gen(1, separator, leftmost);
+            }
+        } else {
+            boolean rightClear = square == size - 1 || cells[square + 1] == 0;
+            if (rightClear && gaddag.isTerminal(node)) {
+                record(leftmost, square);
+            }
+            if (square < size - 1) {
+                gen(pos + 1, node, leftmost);
+            }
+        }
+    }
+}
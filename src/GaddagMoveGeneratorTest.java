@@ -0,0 +1,77 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Test class for GaddagMoveGenerator.
+ * Tests that the moves found are valid and that words can be grown both ways from a board tile.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class GaddagMoveGeneratorTest {
+    private Dictionary dictionary;
+    private GaddagMoveGenerator generator;
+    private Board board;
+
+    @Before
+    public void setUp(){
+        dictionary = new Dictionary();
+        generator = new GaddagMoveGenerator(dictionary.getGaddag(), dictionary);
+        board = new Board();
+    }
+
+    private List<Tile> rack(String letters){
+        List<Tile> tiles = new ArrayList<>();
+        for (char c : letters.toCharArray()){
+            tiles.add(new Tile(c));
+        }
+        return tiles;
+    }
+
+    private boolean hasMove(List<AIPlayer.AIPlay> moves, int row, int col, int direction, String word){
+        for (AIPlayer.AIPlay move : moves){
+            if (move.xPos == row && move.yPos == col && move.direction == direction && move.word.equals(word)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testFirstMoveCoversCenter(){
+        List<AIPlayer.AIPlay> moves = generator.generate(board, rack("CATSDOG"));
+        assertFalse("Should find moves on an empty board", moves.isEmpty());
+        assertTrue("Should find CAT across the center", hasMove(moves, 7, 5, 1, "CAT"));
+        for (AIPlayer.AIPlay move : moves){
+            assertTrue(move.word + " should be a valid word", dictionary.validWord(move.word));
+            boolean coversCenter = move.direction == 1
+                    ? move.xPos == 7 && move.yPos <= 7 && move.yPos + move.word.length() > 7
+                    : move.yPos == 7 && move.xPos <= 7 && move.xPos + move.word.length() > 7;
+            assertTrue(move.word + " should cover the center", coversCenter);
+        }
+    }
+
+    @Test
+    public void testGrowsBothWaysFromTile(){
+        //CAT across the center, then play through its A
+        board.placeTile(7, 6, new Tile('C'));
+        board.placeTile(7, 7, new Tile('A'));
+        board.placeTile(7, 8, new Tile('T'));
+        List<AIPlayer.AIPlay> moves = generator.generate(board, rack("BDERS"));
+        //B above the A and R E below it: BARE down column 7
+        assertTrue("Should find BARE through the A", hasMove(moves, 6, 7, 2, "BARE"));
+        //hooking an S after CAT makes CATS
+        assertTrue("Should find CATS by hooking an S", hasMove(moves, 7, 6, 1, "CATS"));
+    }
+
+    @Test
+    public void testMovesOnlyFormValidWords(){
+        board.placeTile(7, 6, new Tile('C'));
+        board.placeTile(7, 7, new Tile('A'));
+        board.placeTile(7, 8, new Tile('T'));
+        for (AIPlayer.AIPlay move : generator.generate(board, rack("EINORST"))){
+            assertTrue(move.word + " should be a valid word", dictionary.validWord(move.word));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+import java.util.*;
+
+/**
+ * Lexicon stored in a hash table, so looking up a word is a single hash probe.
+ * The words are kept lower cased one after the other in a single char array, and the table is an open
+ * addressing table of word numbers. A lookup hashes and compares the letters it is given in place, folding
+ * the case as it goes, so it makes no garbage whether the word is a String or a slice of a char buffer.
+ *
+ * @author Joseph Dereje
+ * @version 2.0
+ */
+public class HashLexicon implements Lexicon {
+    //every word in lower case, one after the other
+    private final char[] letters;
+    //word i is letters[starts[i]] up to letters[starts[i + 1]]
+    private final int[] starts;
+    //word number plus one in each used slot, 0 in the empty ones
+    private final int[] table;
+    private final int mask;
+    private final int wordCount;
+
+    /**
+     * Constructor
+     * @param wordList the words of the lexicon, blank lines are skipped
+     */
+    public HashLexicon(Collection<String> wordList) {
+        //size the table up front so it is never more than half full
+        int capacity = Integer.highestOneBit(Math.max(8, wordList.size()) * 2 - 1) * 2;
+        table = new int[capacity];
+        mask = capacity - 1;
+        int length = 0;
+        for (String word : wordList) {
+            length += word.length();
+        }
+        char[] pool = new char[length];
+        int[] wordStarts = new int[wordList.size() + 1];
+        int count = 0;
+        int used = 0;
+        for (String word : wordList) {
+            word = word.trim().toLowerCase();
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (used + word.length() > pool.length) {
+                //lower casing made the word longer
+                pool = Arrays.copyOf(pool, Math.max(2 * pool.length, used + word.length()));
+            }
+            word.getChars(0, word.length(), pool, used);
+            int slot = find(pool, used, word.length(), pool, wordStarts);
+            if (table[slot] == 0) {
+                table[slot] = count + 1;
+                wordStarts[count++] = used;
+                used += word.length();
+                wordStarts[count] = used;
+            }
+        }
+        letters = Arrays.copyOf(pool, used);
+        starts = Arrays.copyOf(wordStarts, count + 1);
+        wordCount = count;
+    }
+
+    /**
+     * Finds the slot of a word, the slot holding it or the empty slot where it would go.
+     */
+    private int find(char[] word, int offset, int length, char[] pool, int[] wordStarts) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + Character.toLowerCase(word[i]);
+        }
+        for (int slot = spread(hash); ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return slot;
+            }
+            int start = wordStarts[entry - 1];
+            if (wordStarts[entry] - start == length && equal(pool, start, word, offset, length)) {
+                return slot;
+            }
+        }
+    }
+
+    private int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Compares a stored word with letters in any case.
+     */
+    private static boolean equal(char[] pool, int start, char[] word, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (pool[start + i] != Character.toLowerCase(word[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(CharSequence word) {
+        return indexOf(word) >= 0;
+    }
+
+    @Override
+    public boolean contains(char[] word, int offset, int length) {
+        return indexOf(word, offset, length) >= 0;
+    }
+
+    /**
+     * Gets the number of a word, words being numbered from 0 in the order they were first given to the
+     * constructor, so other tables can keep something for each word in an array.
+     * @param word the word to look up, in any case
+     * @return the number of the word, or -1 if it is not in the lexicon
+     */
+    public int indexOf(CharSequence word) {
+        int length = word.length();
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + Character.toLowerCase(word.charAt(i));
+        }
+        for (int slot = spread(hash); table[slot] != 0; slot = (slot + 1) & mask) {
+            int start = starts[table[slot] - 1];
+            if (starts[table[slot]] - start == length) {
+                int i = 0;
+                while (i < length && letters[start + i] == Character.toLowerCase(word.charAt(i))) {
+                    i++;
+                }
+                if (i == length) {
+                    return table[slot] - 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of the word in a slice of a char array.
+     * @param word the buffer holding the word
+     * @param offset the index of the word's first letter
+     * @param length the number of letters
+     * @return the number of the word, or -1 if it is not in the lexicon
+     */
+    public int indexOf(char[] word, int offset, int length) {
+        return table[find(word, offset, length, letters, starts)] - 1;
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    @Override
+    public List<String> words() {
+        List<String> list = new ArrayList<>(wordCount);
+        for (int i = 0; i < wordCount; i++) {
+            list.add(new String(letters, starts[i], starts[i + 1] - starts[i]));
+        }
+        Collections.sort(list);
+        return list;
+    }
+
+    /**
+     * Gets the memory used by the letters and the table.
+     * @return the size in bytes
+     */
+    public long getMemoryBytes() {
+        return 2L * letters.length + 4L * (starts.length + table.length);
+    }
+}
@@ -0,0 +1,116 @@
+import java.util.*;
+
+/**
+ * Table of the letters that hook onto a run of letters, making it a longer word. A front hook goes before the
+ * letters and a back hook after them ("s" is a front hook of "cab" for "scab" and a back hook of "cat" for
+ * "cats"), and each set of hooks is a 26 bit mask, bit i for letter index i.
+ * The table is keyed by every word minus its first letter and every word minus its last letter, so it answers
+ * for runs that are not words themselves too, such as a single tile on the board. Checking a cross word that
+ * only extends a run of tiles at one end is then one lookup and one bit test.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class HookIndex {
+    //every run of letters that has a hook
+    private final HashLexicon runs;
+    //hooks of each run, by its number in runs
+    private final int[] frontHooks;
+    private final int[] backHooks;
+
+    /**
+     * Constructor, finds the hooks of a word list. Words are lower cased and words with characters other than
+     * letters are skipped.
+     * @param wordList the words
+     */
+    public HookIndex(Collection<String> wordList) {
+        List<String> words = new ArrayList<>(wordList.size());
+        Set<String> runList = new LinkedHashSet<>();
+        for (String word : wordList) {
+            word = word.trim().toLowerCase();
+            if (word.length() > 1 && word.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                words.add(word);
+                runList.add(word.substring(1));
+                runList.add(word.substring(0, word.length() - 1));
+            }
+        }
+        runs = new HashLexicon(runList);
+        frontHooks = new int[runs.size()];
+        backHooks = new int[runs.size()];
+        for (String word : words) {
+            frontHooks[runs.indexOf(word.substring(1))] |= 1 << (word.charAt(0) - 'a');
+            backHooks[runs.indexOf(word.substring(0, word.length() - 1))] |= 1 << (word.charAt(word.length() - 1) - 'a');
+        }
+    }
+
+    /**
+     * Gets the letters that make a word when put before a run of letters.
+     * @param letters the letters, in any case
+     * @return the mask of hooking letters, 0 if there are none
+     */
+    public int frontHooks(CharSequence letters) {
+        int run = runs.indexOf(letters);
+        return run < 0 ? 0 : frontHooks[run];
+    }
+
+    /**
+     * Gets the letters that make a word when put before the run of letters in a slice of a char array.
+     * @param letters the buffer holding the letters
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @return the mask of hooking letters, 0 if there are none
+     */
+    public int frontHooks(char[] letters, int offset, int length) {
+        int run = runs.indexOf(letters, offset, length);
+        return run < 0 ? 0 : frontHooks[run];
+    }
+
+    /**
+     * Gets the letters that make a word when put after a run of letters.
+     * @param letters the letters, in any case
+     * @return the mask of hooking letters, 0 if there are none
+     */
+    public int backHooks(CharSequence letters) {
+        int run = runs.indexOf(letters);
+        return run < 0 ? 0 : backHooks[run];
+    }
+
+    /**
+     * Gets the letters that make a word when put after the run of letters in a slice of a char array.
+     * @param letters the buffer holding the letters
+     * @param offset the index of the first letter
+     * @param length the number of letters
+     * @return the mask of hooking letters, 0 if there are none
+     */
+    public int backHooks(char[] letters, int offset, int length) {
+        int run = runs.indexOf(letters, offset, length);
+        return run < 0 ? 0 : backHooks[run];
+    }
+
+    /**
+     * Checks if a letter is in a mask of hooks.
+     * @param hooks the mask
+     * @param letter the letter, in any case
+     * @return true if the letter hooks
+     */
+    public static boolean hooks(int hooks, char letter) {
+        int index = TrieLexicon.letterIndex(letter);
+        return index >= 0 && (hooks & (1 << index)) != 0;
+    }
+
+    /**
+     * Gets the number of runs of letters with hooks.
+     * @return the number of runs
+     */
+    public int size() {
+        return runs.size();
+    }
+
+    /**
+     * Gets the memory used by the runs and their hooks.
+     * @return the size in bytes
+     */
+    public long getMemoryBytes() {
+        return runs.getMemoryBytes() + 4L * (frontHooks.length + backHooks.length);
+    }
+}
@@ -0,0 +1,61 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the HookIndex class
+ */
+public class HookIndexTest {
+    private HookIndex hooks;
+
+    @Before
+    public void setUp(){
+        hooks = new HookIndex(Arrays.asList("cat", "cats", "scat", "at", "cab", "scab", "Crab", "x-ray"));
+    }
+
+    @Test
+    public void testBackHooks(){
+        assertTrue(HookIndex.hooks(hooks.backHooks("cat"), 's'));
+        assertTrue(HookIndex.hooks(hooks.backHooks("CA"), 'T'));
+        assertTrue(HookIndex.hooks(hooks.backHooks("ca"), 'b'));
+        assertFalse(HookIndex.hooks(hooks.backHooks("ca"), 's'));
+        assertEquals(0, hooks.backHooks("dog"));
+    }
+
+    @Test
+    public void testFrontHooks(){
+        assertTrue(HookIndex.hooks(hooks.frontHooks("cab"), 'S'));
+        assertTrue(HookIndex.hooks(hooks.frontHooks("at"), 'c'));
+        assertTrue("a single letter hooks into a two letter word", HookIndex.hooks(hooks.frontHooks("t"), 'a'));
+        assertFalse(HookIndex.hooks(hooks.frontHooks("rab"), 's'));
+        assertTrue(HookIndex.hooks(hooks.frontHooks("rab"), 'c'));
+        assertEquals("words with other characters have no hooks", 0, hooks.frontHooks("-ray"));
+    }
+
+    @Test
+    public void testCharSlices(){
+        char[] letters = "xCATSx".toCharArray();
+        assertEquals(hooks.backHooks("cat"), hooks.backHooks(letters, 1, 3));
+        assertEquals(hooks.frontHooks("ats"), hooks.frontHooks(letters, 2, 3));
+        assertFalse(HookIndex.hooks(hooks.frontHooks("at"), '?'));
+    }
+
+    @Test
+    public void testMatchesDictionary(){
+        Dictionary dictionary = new Dictionary();
+        List<String> words = dictionary.getWords();
+        for (int i = 0; i < words.size(); i += 37){
+            String word = words.get(i);
+            for (char letter = 'a'; letter <= 'z'; letter++){
+                assertEquals(word + letter, dictionary.validWord(word + letter),
+                        HookIndex.hooks(dictionary.backHooks(word), letter));
+                assertEquals(letter + word, dictionary.validWord(letter + word),
+                        HookIndex.hooks(dictionary.frontHooks(word), letter));
+            }
+        }
+    }
+}
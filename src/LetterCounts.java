@@ -0,0 +1,221 @@
+import java.util.*;
+
+/**
+ * Letter counts of words packed into two longs, so checking if a word can be made from a rack takes a few
+ * bitwise operations with no allocation (SWAR, "SIMD within a register").
+ *
+ * Each letter gets a 4 bit lane: 3 bits for its count (up to 7) and a guard bit on top. Letters a to m are in
+ * the low long and n to z in the high long, 13 lanes each. To find how many letters a word needs beyond a
+ * rack, the rack is subtracted from the word with every guard bit set: a lane keeps its guard bit exactly when
+ * the word has at least as many of that letter as the rack, its low bits are then the shortfall, and the
+ * shortfalls of all the lanes are added up with a multiply.
+ *
+ * An instance holds the packed counts of every word of a word list and finds the words a rack can make by
+ * checking all of them, or only the ones short enough if the word list is sorted shortest first.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class LetterCounts {
+    //the highest count a lane can hold
+    public static final int MAX_COUNT = 7;
+    private static final int LANES = 13;
+    private static final long GUARDS = 0x8888888888888L;
+    private static final long NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+    private static final long BYTE_SUM = 0x0101010101010101L;
+
+    private final String[] words;
+    private final long[] low;
+    private final long[] high;
+    //words with more than MAX_COUNT of a letter, checked the slow way
+    private final List<String> overflowWords = new ArrayList<>();
+    //true if the packed words go from the shortest to the longest
+    private final boolean byLength;
+
+    /**
+     * Constructor, packs the letter counts of every word of a word list.
+     * Words are lower cased and words with characters other than letters are skipped.
+     * @param wordList the words
+     */
+    public LetterCounts(Collection<String> wordList) {
+        List<String> packed = new ArrayList<>(wordList.size());
+        for (String word : wordList) {
+            word = word.trim().toLowerCase();
+            if (word.isEmpty() || !word.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                continue;
+            }
+            if (fits(word)) {
+                packed.add(word);
+            } else {
+                overflowWords.add(word);
+            }
+        }
+        words = packed.toArray(new String[0]);
+        low = new long[words.length];
+        high = new long[words.length];
+        boolean sorted = true;
+        for (int i = 0; i < words.length; i++) {
+            low[i] = packLow(words[i]);
+            high[i] = packHigh(words[i]);
+            sorted &= i == 0 || words[i - 1].length() <= words[i].length();
+        }
+        byLength = sorted;
+    }
+
+    /**
+     * Checks if every letter of a word appears at most MAX_COUNT times, so its counts can be packed.
+     * @param letters the word
+     * @return true if the word can be packed
+     */
+    public static boolean fits(CharSequence letters) {
+        int[] counts = new int[26];
+        for (int i = 0; i < letters.length(); i++) {
+            int letter = TrieLexicon.letterIndex(letters.charAt(i));
+            if (letter >= 0 && ++counts[letter] > MAX_COUNT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Packs the counts of the letters a to m. Characters other than letters are ignored, and counts above
+     * MAX_COUNT must not happen (see fits).
+     * @param letters the letters to count, in any case
+     * @return the packed counts
+     */
+    public static long packLow(CharSequence letters) {
+        long packed = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            int letter = TrieLexicon.letterIndex(letters.charAt(i));
+            if (letter >= 0 && letter < LANES) {
+                packed += 1L << (4 * letter);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Packs the counts of the letters n to z. Characters other than letters are ignored, and counts above
+     * MAX_COUNT must not happen (see fits).
+     * @param letters the letters to count, in any case
+     * @return the packed counts
+     */
+    public static long packHigh(CharSequence letters) {
+        long packed = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            int letter = TrieLexicon.letterIndex(letters.charAt(i));
+            if (letter >= LANES) {
+                packed += 1L << (4 * (letter - LANES));
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Counts the letters a word needs beyond a rack in one half of the alphabet.
+     * @param word the packed counts of the word
+     * @param rack the packed counts of the rack, for the same half of the alphabet
+     * @return the number of letters the word has that the rack does not
+     */
+    public static int excess(long word, long rack) {
+        //each lane becomes 8 + word - rack, which never borrows from the next lane
+        long difference = (word | GUARDS) - rack;
+        //1 in the lanes where the word has at least as many as the rack
+        long covered = (difference & GUARDS) >>> 3;
+        long shortfall = difference & (covered * 7);
+        long bytes = (shortfall & NIBBLES) + ((shortfall >>> 4) & NIBBLES);
+        return (int) ((bytes * BYTE_SUM) >>> 56);
+    }
+
+    /**
+     * Counts the letters a word needs beyond a rack.
+     * @param wordLow the packed counts of the word's letters a to m
+     * @param wordHigh the packed counts of the word's letters n to z
+     * @param rackLow the packed counts of the rack's letters a to m
+     * @param rackHigh the packed counts of the rack's letters n to z
+     * @return the number of letters the word has that the rack does not
+     */
+    public static int missing(long wordLow, long wordHigh, long rackLow, long rackHigh) {
+        return excess(wordLow, rackLow) + excess(wordHigh, rackHigh);
+    }
+
+    /**
+     * Gets every word that can be made from some of the letters of a rack plus up to a number of extra letters,
+     * which can stand for board letters or blank tiles.
+     * @param rack the letters of the rack, characters other than letters are ignored
+     * @param extraLetters the most extra letters a word can use
+     * @return the words
+     */
+    public List<String> formable(CharSequence rack, int extraLetters) {
+        return formable(rack, extraLetters, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets every word up to a length that can be made from some of the letters of a rack plus up to a number of
+     * extra letters. If the word list was sorted shortest first, the longer words are never looked at.
+     * @param rack the letters of the rack, characters other than letters are ignored
+     * @param extraLetters the most extra letters a word can use
+     * @param maxLength the length of the longest words to find
+     * @return the words, in the order of the word list, except for words with more than MAX_COUNT of a letter,
+     * which come last
+     */
+    public List<String> formable(CharSequence rack, int extraLetters, int maxLength) {
+        List<String> found = new ArrayList<>();
+        int end = words.length;
+        if (byLength) {
+            //the first word that is too long
+            int start = 0;
+            while (start < end) {
+                int middle = (start + end) >>> 1;
+                if (words[middle].length() > maxLength) {
+                    end = middle;
+                } else {
+                    start = middle + 1;
+                }
+            }
+        }
+        if (!fits(rack)) {
+            //a rack this big can not happen in a game, count it the slow way
+            for (int i = 0; i < end; i++) {
+                if (words[i].length() <= maxLength && missingSlow(words[i], rack) <= extraLetters) {
+                    found.add(words[i]);
+                }
+            }
+        } else {
+            long rackLow = packLow(rack);
+            long rackHigh = packHigh(rack);
+            for (int i = 0; i < end; i++) {
+                if (missing(low[i], high[i], rackLow, rackHigh) <= extraLetters && words[i].length() <= maxLength) {
+                    found.add(words[i]);
+                }
+            }
+        }
+        for (String word : overflowWords) {
+            if (word.length() <= maxLength && missingSlow(word, rack) <= extraLetters) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Counts the letters a word needs beyond a rack with an array of counts.
+     */
+    private static int missingSlow(String word, CharSequence rack) {
+        int[] counts = new int[26];
+        for (int i = 0; i < rack.length(); i++) {
+            int letter = TrieLexicon.letterIndex(rack.charAt(i));
+            if (letter >= 0) {
+                counts[letter]++;
+            }
+        }
+        int missing = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (--counts[word.charAt(i) - 'a'] < 0) {
+                missing++;
+            }
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,59 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Test class for LetterCounts.
+ * Tests the packed letter count check against counting every letter.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class LetterCountsTest {
+
+    @Test
+    public void testMissing(){
+        long rackLow = LetterCounts.packLow("TAC");
+        long rackHigh = LetterCounts.packHigh("TAC");
+        assertEquals(0, LetterCounts.missing(LetterCounts.packLow("cat"), LetterCounts.packHigh("cat"), rackLow, rackHigh));
+        assertEquals(1, LetterCounts.missing(LetterCounts.packLow("cats"), LetterCounts.packHigh("cats"), rackLow, rackHigh));
+        assertEquals(4, LetterCounts.missing(LetterCounts.packLow("zzzz"), LetterCounts.packHigh("zzzz"), rackLow, rackHigh));
+        assertEquals(7, LetterCounts.excess(LetterCounts.packLow("aaaaaaa"), 0));
+    }
+
+    @Test
+    public void testFits(){
+        assertTrue(LetterCounts.fits("sassafras"));
+        assertFalse(LetterCounts.fits("aaaaaaaa"));
+    }
+
+    @Test
+    public void testFormable(){
+        LetterCounts counts = new LetterCounts(Arrays.asList("cat", "cats", "at", "dog", "aaaaaaaab", "x-ray"));
+        assertEquals(Arrays.asList("cat", "at"), counts.formable("TAC", 0));
+        assertEquals(Arrays.asList("cat", "cats", "at"), counts.formable("TAC", 1));
+        assertTrue("Overflowing words should still be checked", counts.formable("AAAAAAAAB", 0).contains("aaaaaaaab"));
+        assertEquals(Arrays.asList("cat", "at"), counts.formable("TAC", 1, 3));
+        LetterCounts byLength = new LetterCounts(Arrays.asList("at", "cat", "tac", "cats", "aaaaaaaab"));
+        assertEquals(Arrays.asList("at", "cat", "tac"), byLength.formable("TACS", 0, 3));
+        assertEquals(Collections.emptyList(), byLength.formable("AAAAAAAAB", 0, 8));
+    }
+
+    @Test
+    public void testFormableMatchesCounting(){
+        List<String> words = Dictionary.wordList();
+        LetterCounts counts = new LetterCounts(words);
+        String rack = "QUEENSS";
+        for (int extra = 0; extra <= 3; extra++){
+            List<String> expected = new ArrayList<>();
+            for (String word : words){
+                int[] rackCounts = new int[26];
+                for (char c : rack.toLowerCase().toCharArray()) rackCounts[c - 'a']++;
+                int missing = 0;
+                for (char c : word.toCharArray()) if (--rackCounts[c - 'a'] < 0) missing++;
+                if (missing <= extra) expected.add(word);
+            }
+            assertEquals("Extra letters: " + extra, expected, counts.formable(rack, extra));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+import java.nio.CharBuffer;
+import java.util.List;
+
+/**
+ * A set of valid words that a Dictionary looks words up in.
+ * Implementations decide how the words are stored (hash table, word graph, ...).
+ * Lookups ignore case.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public interface Lexicon {
+
+    /**
+     * Checks if a word is in the lexicon, ignoring case.
+     * @param word the word to look up
+     * @return true if the word is in the lexicon
+     */
+    boolean contains(CharSequence word);
+
+    /**
+     * Checks if the word in a slice of a char array is in the lexicon, ignoring case. Implementations
+     * look the letters up in place, so probing from a reused buffer makes no garbage.
+     * @param letters the buffer holding the word
+     * @param offset the index of the word's first letter
+     * @param length the number of letters
+     * @return true if the word is in the lexicon
+     */
+    default boolean contains(char[] letters, int offset, int length) {
+        return contains(CharBuffer.wrap(letters, offset, length));
+    }
+
+    /**
+     * Gets the number of words in the lexicon.
+     * @return the number of words
+     */
+    int size();
+
+    /**
+     * Gets every word in the lexicon in lower case.
+     * @return a list of every word
+     */
+    List<String> words();
+}
@@ -0,0 +1,249 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Benchmark for the dictionary. Times word lookups and AI turns with the hashed dictionary,
+ * the DAWG, the mapped compiled lexicon and the old linear scan of the word list, so they can be compared on any word file.
+ * Lookups are also timed with a Bloom filter in front of each lexicon.
+ *
+ * Usage: java LexiconBenchmark [wordFile] [aiTurns] [linearAiTurns]
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class LexiconBenchmark {
+    private static final int PROBES = 200_000;
+    private static final int LINEAR_PROBES = 2_000;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+    //the number of words the lookups found, kept so the JIT cannot remove the lookups as dead code
+    private static int found;
+
+    /**
+     * Runs the benchmark.
+     * @param args the word file, the number of AI turns to time and the number of AI turns to time with the
+     *             linear scan (it can take a very long time on big word files)
+     */
+    public static void main(String[] args) {
+        String fileName = args.length > 0 ? args[0] : "scrabbleWords.txt";
+        int aiTurns = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int linearAiTurns = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        long start = System.nanoTime();
+        Dictionary hashed = new Dictionary(fileName, Dictionary.Backend.HASH);
+        System.out.printf("Loaded %d words from %s in %.1f ms%n", hashed.getSize(), fileName,
+                (System.nanoTime() - start) / 1e6);
+        start = System.nanoTime();
+        Dictionary dawg = new Dictionary(fileName, Dictionary.Backend.DAWG);
+        Dawg graph = (Dawg) dawg.getLexicon();
+        System.out.printf("Built DAWG in %.1f ms: %d nodes, %d edges, %d KB%n", (System.nanoTime() - start) / 1e6,
+                graph.getNodeCount(), graph.getEdgeCount(), graph.getMemoryBytes() / 1024);
+        Dictionary mapped = timeCompiledLoad(graph);
+        start = System.nanoTime();
+        Dictionary louds = new Dictionary(fileName, Dictionary.Backend.LOUDS);
+        LoudsTrie succinct = (LoudsTrie) louds.getLexicon();
+        System.out.printf("Built LOUDS trie in %.1f ms: %d nodes, %d KB%n", (System.nanoTime() - start) / 1e6,
+                succinct.getNodeCount(), succinct.getMemoryBytes() / 1024);
+        start = System.nanoTime();
+        Dictionary perfect = new Dictionary(fileName, Dictionary.Backend.PERFECT_HASH);
+        PerfectHashLexicon perfectHash = (PerfectHashLexicon) perfect.getLexicon();
+        System.out.printf("Built perfect hash in %.1f ms: %.2f bits per word for the hash function%n",
+                (System.nanoTime() - start) / 1e6, perfectHash.getBitsPerWord());
+        Dictionary mappedPerfect = timeCompiledLoad(perfectHash);
+        start = System.nanoTime();
+        Dictionary offHeap = new Dictionary(fileName, Dictionary.Backend.OFF_HEAP);
+        System.out.printf("Built off heap DAWG in %.1f ms: %d KB outside the heap%n", (System.nanoTime() - start) / 1e6,
+                ((MappedLexicon) offHeap.getLexicon()).getMemoryBytes() / 1024);
+        printFootprint(Dictionary.wordList(fileName), (HashLexicon) hashed.getLexicon(), graph, succinct, perfectHash);
+        Dictionary linear = new LinearDictionary(fileName);
+
+        List<String> probes = makeProbes(Dictionary.wordList(fileName), PROBES);
+        System.out.printf("Lookup, hashed: %.1f ns/word%n", timeLookups(hashed, probes));
+        System.out.printf("Lookup, DAWG:   %.1f ns/word%n", timeLookups(dawg, probes));
+        System.out.printf("Lookup, mapped: %.1f ns/word%n", timeLookups(mapped, probes));
+        System.out.printf("Lookup, LOUDS:  %.1f ns/word%n", timeLookups(louds, probes));
+        System.out.printf("Lookup, perfect hash: %.1f ns/word%n", timeLookups(perfect, probes));
+        System.out.printf("Lookup, mapped perfect hash: %.1f ns/word%n", timeLookups(mappedPerfect, probes));
+        System.out.printf("Lookup, off heap: %.1f ns/word%n", timeLookups(offHeap, probes));
+        System.out.printf("Lookup, linear: %.1f ns/word%n", timeLookups(linear, probes.subList(0, LINEAR_PROBES)));
+        for (Dictionary dictionary : new Dictionary[]{hashed, dawg, mapped}) {
+            BloomFilter filter = dictionary.enableBloomFilter(BLOOM_FALSE_POSITIVE_RATE);
+            double time = timeLookups(dictionary, probes);
+            System.out.printf("Lookup, %s with Bloom filter: %.1f ns/word (%d KB, %.2f%% of non-words passed)%n",
+                    dictionary == hashed ? "hashed" : dictionary == dawg ? "DAWG" : "mapped", time,
+                    filter.getMemoryBytes() / 1024, 100 * filter.getObservedFalsePositiveRate());
+            dictionary.disableBloomFilter();
+        }
+
+        System.out.printf("AI turn, hashed: %s%n", timeAITurns(hashed, aiTurns));
+        System.out.printf("AI turn, linear: %s%n", timeAITurns(linear, linearAiTurns));
+    }
+
+    /**
+     * Compiles a word graph to a temporary lexicon file and times mapping it.
+     * @return a dictionary backed by the mapped file
+     */
+    private static Dictionary timeCompiledLoad(Dawg graph) {
+        try {
+            Path file = Files.createTempFile("lexicon", ".lex");
+            file.toFile().deleteOnExit();
+            LexiconCompiler.write(graph, file);
+            return timeCompiledLoad(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a perfect hash to a temporary lexicon file and times mapping it.
+     * @return a dictionary backed by the mapped file
+     */
+    private static Dictionary timeCompiledLoad(PerfectHashLexicon perfectHash) {
+        try {
+            Path file = Files.createTempFile("lexicon", ".lex");
+            file.toFile().deleteOnExit();
+            perfectHash.write(file);
+            return timeCompiledLoad(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Times mapping a compiled lexicon file.
+     * @return a dictionary backed by the mapped file
+     */
+    private static Dictionary timeCompiledLoad(Path file) throws IOException {
+        long start = System.nanoTime();
+        Dictionary mapped = new Dictionary(file.toString());
+        System.out.printf("Mapped compiled lexicon (%d bytes) in %.3f ms%n", Files.size(file),
+                (System.nanoTime() - start) / 1e6);
+        return mapped;
+    }
+
+    /**
+     * Prints how much memory each way of holding the words takes. The list and the hash set are estimated
+     * for a 64 bit JVM with compressed pointers: 16 bytes of header per object, 4 bytes per reference.
+     */
+    private static void printFootprint(List<String> words, HashLexicon hashed, Dawg dawg, LoudsTrie louds,
+                                       PerfectHashLexicon perfectHash) {
+        long strings = 0;
+        for (String word : words) {
+            //the String object and its byte array of latin-1 characters
+            strings += 24 + align(16 + word.length());
+        }
+        long list = 16 + align(16 + 4L * words.size()) + strings;
+        //a HashMap node per word and a table sized for the 0.75 load factor
+        long table = Long.highestOneBit(Math.max(1, (long) (words.size() / 0.75)) * 2 - 1);
+        long hashSet = 16 + 48 + align(16 + 4 * table) + 32L * words.size() + strings;
+        System.out.println("Footprint of " + words.size() + " words:");
+        System.out.printf("  ArrayList<String>: %,d KB (estimated)%n", list / 1024);
+        System.out.printf("  HashSet<String>:   %,d KB (estimated)%n", hashSet / 1024);
+        System.out.printf("  HashLexicon:       %,d KB%n", hashed.getMemoryBytes() / 1024);
+        System.out.printf("  DAWG:              %,d KB%n", dawg.getMemoryBytes() / 1024);
+        System.out.printf("  LOUDS trie:        %,d KB (%.1f bits per word)%n", louds.getMemoryBytes() / 1024,
+                8.0 * louds.getMemoryBytes() / words.size());
+        System.out.printf("  Perfect hash:      %,d KB (%.1f bits per word with fingerprints and letters)%n",
+                perfectHash.getMemoryBytes() / 1024, 8.0 * perfectHash.getMemoryBytes() / words.size());
+    }
+
+    /**
+     * Rounds an object size up to the 8 byte alignment of the JVM.
+     */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Makes a list of words to look up, half of them valid words and half of them misspelled.
+     */
+    private static List<String> makeProbes(List<String> words, int count) {
+        Random random = new Random(3110);
+        List<String> probes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            if (i % 2 == 1) {
+                //change one letter so the word is (almost always) not valid anymore
+                char[] letters = word.toCharArray();
+                letters[random.nextInt(letters.length)] = (char) ('a' + random.nextInt(26));
+                word = new String(letters) + "q";
+            }
+            probes.add(word);
+        }
+        return probes;
+    }
+
+    /**
+     * Times looking up every probe.
+     * @return the average time per lookup in nanoseconds
+     */
+    private static double timeLookups(Dictionary dictionary, List<String> probes) {
+        //warm up before timing
+        for (String probe : probes) {
+            if (dictionary.validWord(probe)) {
+                found++;
+            }
+        }
+        long start = System.nanoTime();
+        for (String probe : probes) {
+            if (dictionary.validWord(probe)) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) elapsed / probes.size();
+    }
+
+    /**
+     * Plays AI turns in a game between two AI players and times each of them.
+     * @return a summary of the turn times
+     */
+    private static String timeAITurns(Dictionary dictionary, int turns) {
+        ScrabbleModel model = new ScrabbleModel(dictionary);
+        model.initializeGame(2, new String[]{"AI 1", "AI 2"});
+        long total = 0;
+        long worst = 0;
+        int played = 0;
+        while (played < turns && model.isPlaying()) {
+            long start = System.nanoTime();
+            model.CheckAITurn();
+            long elapsed = System.nanoTime() - start;
+            total += elapsed;
+            worst = Math.max(worst, elapsed);
+            played++;
+        }
+        if (played == 0) {
+            return "no turns played";
+        }
+        return String.format("%d turns, mean %.1f ms, worst %.1f ms", played, total / 1e6 / played, worst / 1e6);
+    }
+
+    /**
+     * The dictionary as it was before the hashed index: every lookup scans the whole word list.
+     */
+    private static class LinearDictionary extends Dictionary {
+        private final List<String> words;
+
+        LinearDictionary(String fileName) {
+            super(fileName);
+            words = Dictionary.wordList(fileName);
+        }
+
+        @Override
+        public boolean validWord(String word) {
+            return words.contains(word.toLowerCase());
+        }
+
+        @Override
+        public int validateAll(WordBuffer formed) {
+            for (int i = 0; i < formed.size(); i++) {
+                if (!validWord(formed.word(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
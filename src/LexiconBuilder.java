@@ -0,0 +1,281 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Builds the word graphs of big word lists on every core. The strings to store are split by their first letter,
+ * each part is sorted and minimized on its own by a task in a ForkJoinPool, and the parts are then merged into
+ * one graph, sharing the endings they have in common. The graphs are the same ones Dawg.build and Gaddag.build
+ * make one thread at a time.
+ *
+ * It is also the command line tool that regenerates the compiled files of a word list: the word graph
+ * (dawg, the default) that Dictionary maps, or the GADDAG (gaddag) that move generation uses.
+ *
+ * Usage: java LexiconBuilder [wordFile] [outputFile] [dawg|gaddag] [threads]
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class LexiconBuilder {
+    private static final int ALPHABET_SIZE = TrieLexicon.ALPHABET_SIZE;
+
+    private final ForkJoinPool pool;
+    private volatile Stats lastStats;
+
+    /**
+     * Constructor, builds on the common pool.
+     */
+    public LexiconBuilder() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor, builds on a pool.
+     * @param pool the pool that runs the tasks building each part
+     */
+    public LexiconBuilder(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Command line entry point, builds a compiled file of a word list and prints how long it took.
+     * @param args the word file, the output file, the kind of graph and the number of threads, all optional
+     */
+    public static void main(String[] args) {
+        String wordFile = args.length > 0 ? args[0] : "scrabbleWords.txt";
+        String kind = args.length > 2 ? args[2] : "dawg";
+        if (!kind.equals("dawg") && !kind.equals("gaddag")) {
+            System.err.println("Unknown kind of graph " + kind + ", use dawg or gaddag");
+            System.exit(1);
+        }
+        String outputFile = args.length > 1 ? args[1]
+                : kind.equals("dawg") ? Dictionary.compiledFileName(wordFile) : Dictionary.gaddagFileName(wordFile);
+        ForkJoinPool pool = args.length > 3 ? new ForkJoinPool(Integer.parseInt(args[3])) : ForkJoinPool.commonPool();
+
+        long start = System.nanoTime();
+        List<String> words = Dictionary.wordList(wordFile);
+        long read = System.nanoTime();
+        LexiconBuilder builder = new LexiconBuilder(pool);
+        try {
+            if (kind.equals("dawg")) {
+                LexiconCompiler.write(builder.buildDawg(words), Paths.get(outputFile));
+            } else {
+                LexiconCompiler.write(builder.buildGaddag(words), Paths.get(outputFile));
+            }
+        } catch (IOException e) {
+            System.err.println("We have failed to write the lexicon file: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.printf("Read %d words from %s in %.1f ms%n", words.size(), wordFile, (read - start) / 1e6);
+        System.out.println(builder.getLastStats());
+        System.out.printf("Wrote %s, %.1f ms in all%n", outputFile, (System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * Builds the minimized word graph of a word list.
+     * Words are lower cased, and blank words or words with characters other than letters are skipped.
+     * @param wordList the words
+     * @return the word graph, the same as Dawg.build makes
+     */
+    public Dawg buildDawg(Collection<String> wordList) {
+        long start = System.nanoTime();
+        List<List<String>> words = byFirstLetter(wordList);
+        List<ForkJoinTask<Dawg.Builder>> tasks = new ArrayList<>();
+        for (List<String> part : words) {
+            tasks.add(pool.submit(() -> buildPart(part)));
+        }
+        List<Dawg.Builder> parts = join(tasks);
+        long built = System.nanoTime();
+        Dawg dawg = Dawg.Builder.merge(parts);
+        lastStats = new Stats("DAWG", dawg.size(), dawg.size(), dawg, built - start, System.nanoTime() - built);
+        return dawg;
+    }
+
+    /**
+     * Builds the GADDAG of a word list. Each task sorts and minimizes the strings starting with one letter,
+     * which are the ones stored for every word from each of its squares with that letter.
+     * Words are lower cased, and blank words or words with characters other than letters are skipped.
+     * @param wordList the words
+     * @return the GADDAG, the same as Gaddag.build makes
+     */
+    public Gaddag buildGaddag(Collection<String> wordList) {
+        long start = System.nanoTime();
+        List<List<String>> byFirstLetter = byFirstLetter(wordList);
+        List<ForkJoinTask<List<String>>> sorting = new ArrayList<>();
+        for (List<String> part : byFirstLetter) {
+            sorting.add(pool.submit(() -> sortedDistinct(part)));
+        }
+        List<String> words = new ArrayList<>();
+        for (List<String> part : join(sorting)) {
+            words.addAll(part);
+        }
+
+        List<ForkJoinTask<Dawg.Builder>> tasks = new ArrayList<>();
+        for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+            char first = (char) ('a' + letter);
+            tasks.add(pool.submit(() -> {
+                List<String> paths = new ArrayList<>();
+                for (String word : words) {
+                    for (int i = word.indexOf(first); i >= 0; i = word.indexOf(first, i + 1)) {
+                        paths.add(Gaddag.path(word, i));
+                    }
+                }
+                Collections.sort(paths);
+                Dawg.Builder builder = new Dawg.Builder();
+                for (String path : paths) {
+                    builder.add(path);
+                }
+                builder.minimizeAll();
+                return builder;
+            }));
+        }
+        List<Dawg.Builder> parts = join(tasks);
+        long built = System.nanoTime();
+        Dawg graph = Dawg.Builder.merge(parts);
+        lastStats = new Stats("GADDAG", words.size(), graph.size(), graph, built - start, System.nanoTime() - built);
+        return new Gaddag(graph, words.size());
+    }
+
+    /**
+     * Gets the numbers of the last graph built.
+     * @return the stats, or null if nothing has been built
+     */
+    public Stats getLastStats() {
+        return lastStats;
+    }
+
+    /**
+     * Lower cases the words of a list and splits them by first letter, skipping words that are blank or have
+     * characters other than letters.
+     */
+    private static List<List<String>> byFirstLetter(Collection<String> wordList) {
+        List<List<String>> parts = new ArrayList<>(ALPHABET_SIZE);
+        for (int letter = 0; letter < ALPHABET_SIZE; letter++) {
+            parts.add(new ArrayList<>());
+        }
+        for (String word : wordList) {
+            word = word.trim().toLowerCase();
+            if (!word.isEmpty() && word.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                parts.get(word.charAt(0) - 'a').add(word);
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Sorts a part of the words and drops the repeated ones.
+     */
+    private static List<String> sortedDistinct(List<String> words) {
+        Collections.sort(words);
+        List<String> distinct = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (distinct.isEmpty() || !word.equals(distinct.get(distinct.size() - 1))) {
+                distinct.add(word);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Builds and minimizes the graph of the words starting with one letter.
+     */
+    private static Dawg.Builder buildPart(List<String> words) {
+        Dawg.Builder builder = new Dawg.Builder();
+        for (String word : sortedDistinct(words)) {
+            builder.add(word);
+        }
+        builder.minimizeAll();
+        return builder;
+    }
+
+    /**
+     * Waits for every task, in order.
+     */
+    private static <T> List<T> join(List<ForkJoinTask<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<T> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * The numbers of a graph build: what was built, how big it is and how long each stage took.
+     */
+    public static class Stats {
+        private final String kind;
+        private final int words;
+        private final int strings;
+        private final int nodes;
+        private final int edges;
+        private final long partsNanos;
+        private final long mergeNanos;
+
+        Stats(String kind, int words, int strings, Dawg graph, long partsNanos, long mergeNanos) {
+            this.kind = kind;
+            this.words = words;
+            this.strings = strings;
+            this.nodes = graph.getNodeCount();
+            this.edges = graph.getEdgeCount();
+            this.partsNanos = partsNanos;
+            this.mergeNanos = mergeNanos;
+        }
+
+        /**
+         * Gets the number of distinct words in the graph.
+         * @return the number of words
+         */
+        public int getWords() {
+            return words;
+        }
+
+        /**
+         * Gets the number of strings stored, the words for a DAWG and one per letter of each word for a GADDAG.
+         * @return the number of strings
+         */
+        public int getStrings() {
+            return strings;
+        }
+
+        /**
+         * Gets the number of nodes of the graph.
+         * @return the number of nodes
+         */
+        public int getNodes() {
+            return nodes;
+        }
+
+        /**
+         * Gets the number of edges of the graph.
+         * @return the number of edges
+         */
+        public int getEdges() {
+            return edges;
+        }
+
+        /**
+         * Gets how long splitting, sorting and minimizing the parts took, on every core.
+         * @return the duration in nanoseconds
+         */
+        public long getPartsNanos() {
+            return partsNanos;
+        }
+
+        /**
+         * Gets how long merging the parts and packing the graph took, on one thread.
+         * @return the duration in nanoseconds
+         */
+        public long getMergeNanos() {
+            return mergeNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Built %s of %d words (%d strings): %d nodes, %d edges, %d KB in %.1f ms"
+                            + " (parts %.1f ms, merge %.1f ms)", kind, words, strings, nodes, edges,
+                    4L * (2L * nodes + edges) / 1024, (partsNanos + mergeNanos) / 1e6, partsNanos / 1e6, mergeNanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test class for LexiconBuilder.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class LexiconBuilderTest {
+    private ForkJoinPool pool;
+    private Path wordFile;
+
+    @Before
+    public void setUp() throws IOException {
+        pool = new ForkJoinPool(4);
+        wordFile = Files.createTempFile("builder_words", ".txt");
+        Files.write(wordFile, Arrays.asList("cat", "cats", "scab", "cab", "zoo", "Dog", "do-it", "cat"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(wordFile);
+        Files.deleteIfExists(Paths.get(Dictionary.gaddagFileName(wordFile.toString())));
+    }
+
+    @Test
+    public void testSameDawgAsOneThread(){
+        List<String> words = Dictionary.wordList();
+        Dawg parallel = new LexiconBuilder(pool).buildDawg(words);
+        Dawg single = Dawg.build(words);
+        assertEquals(single.size(), parallel.size());
+        assertArrayEquals(single.getNodeInfo(), parallel.getNodeInfo());
+        assertArrayEquals(single.getFirstEdge(), parallel.getFirstEdge());
+        assertArrayEquals(single.getEdgeTarget(), parallel.getEdgeTarget());
+    }
+
+    @Test
+    public void testSameGaddagAsOneThread(){
+        List<String> words = Dictionary.wordList();
+        LexiconBuilder builder = new LexiconBuilder(pool);
+        Gaddag parallel = builder.buildGaddag(words);
+        Gaddag single = Gaddag.build(words);
+        assertEquals(single.size(), parallel.size());
+        assertArrayEquals(single.getGraph().getNodeInfo(), parallel.getGraph().getNodeInfo());
+        assertArrayEquals(single.getGraph().getEdgeTarget(), parallel.getGraph().getEdgeTarget());
+
+        LexiconBuilder.Stats stats = builder.getLastStats();
+        assertEquals(single.size(), stats.getWords());
+        assertEquals(single.getNodeCount(), stats.getNodes());
+        assertEquals(single.getEdgeCount(), stats.getEdges());
+        assertTrue("A GADDAG stores a string per letter of each word", stats.getStrings() > stats.getWords());
+    }
+
+    @Test
+    public void testSmallList(){
+        Dawg dawg = new LexiconBuilder(pool).buildDawg(Dictionary.wordList(wordFile.toString()));
+        assertEquals("Repeated and non letter words should be skipped", 6, dawg.size());
+        assertTrue(dawg.contains("dog"));
+        assertTrue(dawg.contains("scab"));
+        assertFalse(dawg.contains("ca"));
+        assertEquals(0, new LexiconBuilder(pool).buildDawg(Collections.emptyList()).size());
+    }
+
+    @Test
+    public void testCompiledGaddag() throws IOException {
+        Gaddag built = new LexiconBuilder(pool).buildGaddag(Dictionary.wordList(wordFile.toString()));
+        Path file = Paths.get(Dictionary.gaddagFileName(wordFile.toString()));
+        LexiconCompiler.write(built, file);
+        Gaddag read = Gaddag.open(file);
+        assertEquals(built.size(), read.size());
+        assertArrayEquals(built.getGraph().getNodeInfo(), read.getGraph().getNodeInfo());
+        assertArrayEquals(built.getGraph().getEdgeTarget(), read.getGraph().getEdgeTarget());
+        try {
+            MappedLexicon.open(file);
+            fail("A GADDAG file should not open as a word graph");
+        } catch (IOException e) {
+            assertNotNull(e.getMessage());
+        }
+
+        Dictionary dictionary = new Dictionary(wordFile.toString());
+        assertArrayEquals("The dictionary should read the compiled GADDAG", built.getGraph().getNodeInfo(),
+                dictionary.getGaddag().getGraph().getNodeInfo());
+    }
+}
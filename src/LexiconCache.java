@@ -0,0 +1,188 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Process wide cache of loaded dictionaries, so every model, AI player and loaded game in the JVM shares
+ * one immutable Dictionary per word file instead of reading the file again.
+ * A dictionary is keyed by the canonical path of its word file and by the file's version (its size and
+ * modification time, and those of its compiled lexicon file). If the file changes, the next get loads the
+ * new version, while games already holding the old dictionary keep using it.
+ * Dictionaries can also be loaded on a background thread with getAsync, so a game can show its window first.
+ *
+ * @author Joseph Dereje
+ * @version 1.1
+ */
+public final class LexiconCache {
+    private static final String DEFAULT_WORD_FILE = "scrabbleWords.txt";
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    //numbers the loads in the order they start, so a load that finishes late does not replace a newer one
+    private static final AtomicLong loads = new AtomicLong();
+    //daemon threads, so a load still running does not keep the game from exiting
+    private static final ExecutorService loader = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "lexicon-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private LexiconCache() {
+    }
+
+    /**
+     * Gets the shared dictionary for the default word file, loading it if needed.
+     * @return the shared dictionary
+     */
+    public static Dictionary getDefault() {
+        return get(DEFAULT_WORD_FILE);
+    }
+
+    /**
+     * Gets the shared dictionary for a word file, loading it if it is not cached or the file has changed.
+     * @param fileName the path of the word file, or of a compiled lexicon file
+     * @return the shared dictionary
+     */
+    public static Dictionary get(String fileName) {
+        return getAsync(fileName).getDictionary();
+    }
+
+    /**
+     * Gets the shared dictionary for the default word file, starting to load it in the background if needed.
+     * @return the handle to the shared dictionary
+     */
+    public static LexiconLoad getDefaultAsync() {
+        return getAsync(DEFAULT_WORD_FILE);
+    }
+
+    /**
+     * Gets the shared dictionary for a word file without waiting for it, starting to load it in the background
+     * if it is not cached or the file has changed. A load that failed is tried again.
+     * @param fileName the path of the word file, or of a compiled lexicon file
+     * @return the handle to the shared dictionary
+     */
+    public static LexiconLoad getAsync(String fileName) {
+        String key = key(fileName);
+        String version = version(fileName);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isCurrent(version)) {
+            return entry.load;
+        }
+        //only one load is started for a given file, the others share it
+        return entries.compute(key, (k, current) ->
+                current != null && current.isCurrent(version)
+                        ? current : new Entry(version, LexiconLoad.start(fileName, loader), loads.incrementAndGet())).load;
+    }
+
+    /**
+     * Loads a word file again in the background, even if the cached dictionary is current, and caches the new
+     * dictionary only once it has loaded. Until then gets keep returning the old dictionary, unless the file
+     * has changed since it was cached.
+     * @param fileName the path of the word file, or of a compiled lexicon file
+     * @param onLoaded the action to run on the new dictionary before the load is reported as done
+     * @return the handle to the new dictionary
+     */
+    public static LexiconLoad refresh(String fileName, Consumer<Dictionary> onLoaded) {
+        return refresh(fileName, loader, onLoaded);
+    }
+
+    /**
+     * Loads a word file again on an executor, caching the new dictionary once it has loaded unless a load that
+     * started after it has been cached already.
+     * @param fileName the path of the word file, or of a compiled lexicon file
+     * @param executor the executor to load on
+     * @param onLoaded the action to run on the new dictionary before the load is reported as done
+     * @return the handle to the new dictionary
+     */
+    static LexiconLoad refresh(String fileName, Executor executor, Consumer<Dictionary> onLoaded) {
+        String key = key(fileName);
+        String version = version(fileName);
+        long number = loads.incrementAndGet();
+        return LexiconLoad.start(fileName, executor, dictionary -> {
+            entries.compute(key, (k, current) -> current != null && current.number > number
+                    ? current : new Entry(version, LexiconLoad.of(dictionary), number));
+            onLoaded.accept(dictionary);
+        });
+    }
+
+    /**
+     * Checks if the dictionary for a word file is loaded.
+     * @param fileName the path of the word file
+     * @return true if it is cached and has finished loading
+     */
+    public static boolean isLoaded(String fileName) {
+        Entry entry = entries.get(key(fileName));
+        return entry != null && entry.load.isDone() && !entry.load.isFailed();
+    }
+
+    /**
+     * Drops the dictionary for a word file from the cache. Games already using it keep it, and the next get
+     * loads the file again.
+     * @param fileName the path of the word file
+     * @return true if a dictionary was dropped
+     */
+    public static boolean release(String fileName) {
+        return entries.remove(key(fileName)) != null;
+    }
+
+    /**
+     * Drops every dictionary from the cache.
+     */
+    public static void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached dictionaries.
+     * @return the number of dictionaries
+     */
+    public static int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the cache key of a word file, its canonical path.
+     */
+    private static String key(String fileName) {
+        File file = new File(fileName);
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    /**
+     * Gets the version of a word file from its size and modification time and those of its compiled file.
+     */
+    private static String version(String fileName) {
+        File words = new File(fileName);
+        File compiled = new File(Dictionary.compiledFileName(fileName));
+        return words.length() + ":" + words.lastModified() + ":" + compiled.length() + ":" + compiled.lastModified();
+    }
+
+    /**
+     * A cached dictionary, maybe still loading, the version of the file it was loaded from and the number of
+     * its load.
+     */
+    private static class Entry {
+        final String version;
+        final LexiconLoad load;
+        final long number;
+
+        Entry(String version, LexiconLoad load, long number) {
+            this.version = version;
+            this.load = load;
+            this.number = number;
+        }
+
+        boolean isCurrent(String fileVersion) {
+            return version.equals(fileVersion) && !load.isFailed();
+        }
+    }
+}
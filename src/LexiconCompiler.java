@@ -0,0 +1,112 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Offline tool that compiles a word list into a binary lexicon file that MappedLexicon can map into
+ * memory, so games don't have to read and index the word list every time they start. The file holds a word
+ * graph (dawg, the default) or a minimal perfect hash (hash), which only answers lookups but opens in constant
+ * time and takes one or two memory accesses per lookup.
+ *
+ * Usage: java LexiconCompiler [wordFile] [lexiconFile] [dawg|hash]
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class LexiconCompiler {
+
+    /**
+     * Compiles a word list.
+     * @param args the word file (scrabbleWords.txt by default), the file to write
+     *             (the word file with a .lex extension by default) and the kind of lexicon (dawg by default)
+     */
+    public static void main(String[] args) {
+        String wordFile = args.length > 0 ? args[0] : "scrabbleWords.txt";
+        String lexiconFile = args.length > 1 ? args[1] : Dictionary.compiledFileName(wordFile);
+        String kind = args.length > 2 ? args[2] : "dawg";
+
+        long start = System.nanoTime();
+        List<String> words = Dictionary.wordList(wordFile);
+        if (kind.equals("hash")) {
+            compilePerfectHash(words, lexiconFile, start);
+            return;
+        }
+        if (!kind.equals("dawg")) {
+            System.err.println("Unknown kind of lexicon " + kind + ", use dawg or hash");
+            System.exit(1);
+        }
+        Dawg dawg = Dawg.build(words);
+        try {
+            write(dawg, Paths.get(lexiconFile));
+            if (!MappedLexicon.open(Paths.get(lexiconFile)).verify()) {
+                System.err.println("The lexicon file " + lexiconFile + " did not read back correctly");
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            System.err.println("We have failed to write the lexicon file: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.printf("Compiled %d words into %s: %d nodes, %d edges, %d bytes in %.1f ms%n",
+                dawg.size(), lexiconFile, dawg.getNodeCount(), dawg.getEdgeCount(),
+                MappedLexicon.HEADER_SIZE + dawg.getMemoryBytes(), (System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * Builds a minimal perfect hash of a word list, writes it and checks the file maps back to the same words.
+     */
+    private static void compilePerfectHash(List<String> words, String lexiconFile, long start) {
+        PerfectHashLexicon lexicon = PerfectHashLexicon.build(words);
+        long built = System.nanoTime();
+        try {
+            lexicon.write(Paths.get(lexiconFile));
+            PerfectHashLexicon written = PerfectHashLexicon.open(Paths.get(lexiconFile));
+            if (!written.verify() || written.size() != lexicon.size()) {
+                System.err.println("The lexicon file " + lexiconFile + " did not read back correctly");
+                System.exit(1);
+            }
+        } catch (IOException e) {
+            System.err.println("We have failed to write the lexicon file: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.printf("Compiled %d words into %s: perfect hash of %.2f bits per word, %d bytes in all, "
+                        + "built in %.1f ms, written in %.1f ms%n",
+                lexicon.size(), lexiconFile, lexicon.getBitsPerWord(), lexicon.getMemoryBytes(),
+                (built - start) / 1e6, (System.nanoTime() - built) / 1e6);
+    }
+
+    /**
+     * Writes a word graph to a compiled lexicon file.
+     * @param dawg the word graph
+     * @param path the path of the file to write
+     * @throws IOException if the file can not be written
+     */
+    public static void write(Dawg dawg, Path path) throws IOException {
+        write(MappedLexicon.image(dawg, false), path);
+    }
+
+    /**
+     * Writes a GADDAG to a compiled file, which Gaddag.open reads back.
+     * @param gaddag the GADDAG
+     * @param path the path of the file to write
+     * @throws IOException if the file can not be written
+     */
+    public static void write(Gaddag gaddag, Path path) throws IOException {
+        write(MappedLexicon.image(gaddag.getGraph(), MappedLexicon.TYPE_GADDAG, gaddag.size(), false), path);
+    }
+
+    /**
+     * Writes the image of a compiled file.
+     */
+    private static void write(ByteBuffer image, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (image.hasRemaining()) {
+                channel.write(image);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Handle to a dictionary that may still be loading on a background thread, so a game can start and show its
+ * window while the words are read. Code that needs the words calls getDictionary, which waits only if the
+ * load has not finished yet.
+ * When the word file is reloaded, the handle is pointed at the new dictionary once it has finished loading, so
+ * games holding it pick up the new words on their next lookup without ever waiting for the reload.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class LexiconLoad {
+    private final CompletableFuture<Dictionary> future;
+    //fraction of the word file read so far, from 0 to 1
+    private volatile double progress;
+    //the finished load that replaced this one, null until the word file is reloaded
+    private volatile LexiconLoad successor;
+
+    private LexiconLoad(CompletableFuture<Dictionary> future, double progress) {
+        this.future = future;
+        this.progress = progress;
+    }
+
+    /**
+     * Starts loading a word file on an executor.
+     * @param fileName the path of the word file, or of a compiled lexicon file
+     * @param executor the executor to load on
+     * @return the handle to the dictionary being loaded
+     */
+    public static LexiconLoad start(String fileName, Executor executor) {
+        return start(fileName, executor, dictionary -> {
+        });
+    }
+
+    /**
+     * Starts loading a word file on an executor, running an action on the dictionary before the load is
+     * reported as done, so whoever waits on the handle sees what the action did.
+     * @param fileName the path of the word file, or of a compiled lexicon file
+     * @param executor the executor to load on
+     * @param onLoaded the action to run once the dictionary is loaded
+     * @return the handle to the dictionary being loaded
+     */
+    public static LexiconLoad start(String fileName, Executor executor, Consumer<Dictionary> onLoaded) {
+        CompletableFuture<Dictionary> future = new CompletableFuture<>();
+        LexiconLoad load = new LexiconLoad(future, 0);
+        executor.execute(() -> {
+            try {
+                Dictionary dictionary = new Dictionary(fileName, fraction -> load.progress = fraction);
+                enableBloomFilter(dictionary);
+                onLoaded.accept(dictionary);
+                future.complete(dictionary);
+                load.progress = 1;
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return load;
+    }
+
+    /**
+     * Puts a Bloom filter in front of a loaded dictionary if the scrabble.bloom system property gives its false
+     * positive rate. It pays off on big word lists, where most exact lookups miss the processor cache.
+     */
+    private static void enableBloomFilter(Dictionary dictionary) {
+        String rate = System.getProperty("scrabble.bloom");
+        if (rate == null) {
+            return;
+        }
+        try {
+            dictionary.enableBloomFilter(Double.parseDouble(rate));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring scrabble.bloom=" + rate + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes a handle to a dictionary that is already loaded.
+     * @param dictionary the dictionary
+     * @return the handle
+     */
+    public static LexiconLoad of(Dictionary dictionary) {
+        return new LexiconLoad(CompletableFuture.completedFuture(dictionary), 1);
+    }
+
+    /**
+     * Gets the dictionary, waiting for it to finish loading if needed. If the word file has been reloaded this
+     * is the newest dictionary.
+     * @return the dictionary
+     */
+    public Dictionary getDictionary() {
+        return current().future.join();
+    }
+
+    /**
+     * Points this handle, and the handles it replaced, at a newer load of the same words. The new load should
+     * be done, so getDictionary never waits on a reload.
+     * @param next the load that replaces this one
+     */
+    void supersede(LexiconLoad next) {
+        if (next != this) {
+            successor = next;
+        }
+    }
+
+    /**
+     * Gets the newest load this handle has been pointed at, shortening the chain for the next call.
+     */
+    private LexiconLoad current() {
+        LexiconLoad current = this;
+        while (current.successor != null) {
+            current = current.successor;
+        }
+        if (current != this && successor != current) {
+            successor = current;
+        }
+        return current;
+    }
+
+    /**
+     * Checks if the dictionary has finished loading, successfully or not.
+     * @return true if getDictionary will not wait
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Checks if loading the dictionary failed.
+     * @return true if the load threw an exception
+     */
+    public boolean isFailed() {
+        return future.isCompletedExceptionally();
+    }
+
+    /**
+     * Gets how much of the word file has been read.
+     * @return the fraction read, from 0 to 1
+     */
+    public double getProgress() {
+        return progress;
+    }
+
+    /**
+     * Gets the load as a future, to run code when the dictionary is ready.
+     * @return the future of the dictionary
+     */
+    public CompletableFuture<Dictionary> getFuture() {
+        return future;
+    }
+}
@@ -0,0 +1,225 @@
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Registry of the word lists games can be played with, by name (the bundled list, tournament lists, house
+ * lists). Each name points to an immutable snapshot of a dictionary, and looking a snapshot up takes no locks.
+ * Swapping a lexicon publishes a new snapshot in one step, and games started before keep validating against
+ * the dictionary they started with. Reloading a lexicon reads its word file again in the background and
+ * publishes the new snapshot only once it is ready; games playing with the lexicon move on to the new words
+ * then, and nothing waits for the reload. When reloads overlap, the one started last wins, whichever order
+ * they finish in. LexiconWatcher reloads a lexicon when its word file changes.
+ *
+ * The "default" lexicon is the word file named by the scrabble.words system property, scrabbleWords.txt if
+ * it is not set.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public final class LexiconRegistry {
+    public static final String DEFAULT = "default";
+    private static final String DEFAULT_WORD_FILE = "scrabbleWords.txt";
+
+    private static final Map<String, Snapshot> lexicons = new ConcurrentHashMap<>();
+    //numbers the reloads in the order they start, so an older reload never replaces a newer one
+    private static final AtomicLong reloads = new AtomicLong();
+    //reload metrics
+    private static final AtomicInteger reloadCount = new AtomicInteger();
+    private static final AtomicInteger failedReloadCount = new AtomicInteger();
+    private static volatile long lastReloadNanos;
+
+    private LexiconRegistry() {
+    }
+
+    /**
+     * Registers a word file under a name, replacing any lexicon already registered under it. The file loads
+     * in the background and is shared with every other user of the file through LexiconCache.
+     * @param name the name of the lexicon
+     * @param fileName the path of the word file, or of a compiled lexicon file
+     * @return the handle to the new dictionary
+     */
+    public static LexiconLoad register(String name, String fileName) {
+        Snapshot snapshot = new Snapshot(fileName, LexiconCache.getAsync(fileName), null, 0);
+        lexicons.put(name, snapshot);
+        return snapshot.load;
+    }
+
+    /**
+     * Registers a dictionary that is already loaded under a name, replacing any lexicon already registered
+     * under it. It can not be reloaded, as it has no file.
+     * @param name the name of the lexicon
+     * @param dictionary the dictionary
+     * @return the handle to the dictionary
+     */
+    public static LexiconLoad register(String name, Dictionary dictionary) {
+        Snapshot snapshot = new Snapshot(null, LexiconLoad.of(dictionary), null, 0);
+        lexicons.put(name, snapshot);
+        return snapshot.load;
+    }
+
+    /**
+     * Reads the word file of a lexicon again in the background. The old snapshot stays published while the
+     * file loads, and when the new dictionary is ready it is published and games playing with the old snapshot
+     * are moved on to it. If the load fails, the lexicon is swapped or removed in the meantime, or a reload of
+     * the lexicon that started later has been published already, the new dictionary is not published.
+     * @param name the name of the lexicon
+     * @return the handle to the new dictionary, done once it has been published or dropped
+     * @throws IllegalArgumentException if there is no lexicon with this name, or it has no word file
+     */
+    public static LexiconLoad reload(String name) {
+        return reload(name, null);
+    }
+
+    /**
+     * Reads the word file of a lexicon again on an executor, the loader of LexiconCache if it is null.
+     */
+    static LexiconLoad reload(String name, Executor executor) {
+        Snapshot old = snapshot(name);
+        if (old.fileName == null) {
+            throw new IllegalArgumentException("Lexicon " + name + " has no word file to reload");
+        }
+        //the snapshots reloaded from the same registration share its origin
+        Snapshot origin = old.origin == null ? old : old.origin;
+        long number = reloads.incrementAndGet();
+        long start = System.nanoTime();
+        Consumer<Dictionary> publish = dictionary -> {
+            LexiconLoad ready = LexiconLoad.of(dictionary);
+            Snapshot[] replaced = new Snapshot[1];
+            lexicons.computeIfPresent(name, (k, current) -> {
+                if ((current == origin || current.origin == origin) && current.number < number) {
+                    replaced[0] = current;
+                    return new Snapshot(old.fileName, ready, origin, number);
+                }
+                return current;
+            });
+            if (replaced[0] != null) {
+                //games holding an earlier snapshot follow the chain of loads to this one
+                replaced[0].load.supersede(ready);
+                lastReloadNanos = System.nanoTime() - start;
+                reloadCount.incrementAndGet();
+            }
+        };
+        LexiconLoad load = executor == null ? LexiconCache.refresh(old.fileName, publish)
+                : LexiconCache.refresh(old.fileName, executor, publish);
+        load.getFuture().exceptionally(e -> {
+            failedReloadCount.incrementAndGet();
+            System.err.println("Could not reload lexicon " + name + ", keeping the old words: " + e.getMessage());
+            return null;
+        });
+        return load;
+    }
+
+    /**
+     * Gets the number of reloads that have been published since the program started.
+     * @return the number of reloads
+     */
+    public static int getReloadCount() {
+        return reloadCount.get();
+    }
+
+    /**
+     * Gets the number of reloads that failed since the program started.
+     * @return the number of failed reloads
+     */
+    public static int getFailedReloadCount() {
+        return failedReloadCount.get();
+    }
+
+    /**
+     * Gets how long the last reload took, from starting to read the word file to publishing the new snapshot.
+     * @return the duration in nanoseconds, 0 if nothing has been reloaded
+     */
+    public static long getLastReloadNanos() {
+        return lastReloadNanos;
+    }
+
+    /**
+     * Gets the current snapshot of a lexicon.
+     * @param name the name of the lexicon
+     * @return the handle to its dictionary, which may still be loading
+     * @throws IllegalArgumentException if there is no lexicon with this name
+     */
+    public static LexiconLoad get(String name) {
+        return snapshot(name).load;
+    }
+
+    /**
+     * Gets the word file a lexicon was loaded from.
+     * @param name the name of the lexicon
+     * @return the path of the word file, or null if the lexicon was registered as a dictionary
+     * @throws IllegalArgumentException if there is no lexicon with this name
+     */
+    public static String getFileName(String name) {
+        return snapshot(name).fileName;
+    }
+
+    /**
+     * Checks if there is a lexicon with a name. The default lexicon is always there.
+     * @param name the name of the lexicon
+     * @return true if get will find it
+     */
+    public static boolean contains(String name) {
+        return DEFAULT.equals(name) || (name != null && lexicons.containsKey(name));
+    }
+
+    /**
+     * Removes a lexicon. Games already using it keep it. Removing the default lexicon resets it to the default
+     * word file.
+     * @param name the name of the lexicon
+     * @return true if a lexicon was removed
+     */
+    public static boolean unregister(String name) {
+        return lexicons.remove(name) != null;
+    }
+
+    /**
+     * Gets the names of every lexicon, in order.
+     * @return the names, including the default lexicon
+     */
+    public static Set<String> names() {
+        Set<String> names = new TreeSet<>(lexicons.keySet());
+        names.add(DEFAULT);
+        return names;
+    }
+
+    /**
+     * Gets the current snapshot of a lexicon, registering the default lexicon the first time it is asked for.
+     */
+    private static Snapshot snapshot(String name) {
+        Snapshot snapshot = name == null ? null : lexicons.get(name);
+        if (snapshot == null && DEFAULT.equals(name)) {
+            snapshot = lexicons.computeIfAbsent(DEFAULT, k -> {
+                String fileName = System.getProperty("scrabble.words", DEFAULT_WORD_FILE);
+                return new Snapshot(fileName, LexiconCache.getAsync(fileName), null, 0);
+            });
+        }
+        if (snapshot == null) {
+            throw new IllegalArgumentException("There is no lexicon named " + name);
+        }
+        return snapshot;
+    }
+
+    /**
+     * A published dictionary and the word file it came from, never changed once made. A reloaded snapshot keeps
+     * the snapshot its lexicon was registered with as its origin, and the number of the reload that made it.
+     */
+    private static class Snapshot {
+        final String fileName;
+        final LexiconLoad load;
+        final Snapshot origin;
+        final long number;
+
+        Snapshot(String fileName, LexiconLoad load, Snapshot origin, long number) {
+            this.fileName = fileName;
+            this.load = load;
+            this.origin = origin;
+            this.number = number;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Test class for LexiconRegistry.
+ * Tests registering, swapping and reloading lexicons, games keeping their snapshot on a swap and following a
+ * reload, and the watcher reloading a changed word file.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class LexiconRegistryTest {
+    private Path wordFile;
+
+    @Before
+    public void setUp() throws IOException {
+        wordFile = Files.createTempFile("house", ".txt");
+        Files.write(wordFile, Arrays.asList("qi", "za", "xu"));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        LexiconWatcher.stop();
+        LexiconRegistry.unregister("house");
+        LexiconRegistry.unregister("tiny");
+        LexiconCache.release(wordFile.toString());
+        Files.deleteIfExists(wordFile);
+    }
+
+    @Test
+    public void testDefaultLexicon(){
+        assertTrue(LexiconRegistry.contains(LexiconRegistry.DEFAULT));
+        assertTrue(LexiconRegistry.names().contains(LexiconRegistry.DEFAULT));
+        assertTrue("'abroad' should be in the default lexicon",
+                LexiconRegistry.get(LexiconRegistry.DEFAULT).getDictionary().validWord("abroad"));
+    }
+
+    @Test
+    public void testRegister(){
+        LexiconRegistry.register("house", wordFile.toString());
+        assertTrue(LexiconRegistry.names().contains("house"));
+        ScrabbleModel model = new ScrabbleModel("house");
+        assertEquals("house", model.getLexiconName());
+        assertTrue(model.getDictionary().validWord("qi"));
+        assertFalse("The house list should not have 'abroad'", model.getDictionary().validWord("abroad"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownLexicon(){
+        LexiconRegistry.get("nothing");
+    }
+
+    @Test
+    public void testSwapKeepsRunningGames() throws IOException {
+        LexiconRegistry.register("tiny", new Dictionary(new HashLexicon(Arrays.asList("cat"))));
+        ScrabbleModel running = new ScrabbleModel("tiny");
+        LexiconRegistry.register("tiny", new Dictionary(new HashLexicon(Arrays.asList("dog"))));
+        assertTrue("The running game should keep its snapshot", running.getDictionary().validWord("cat"));
+        assertTrue(new ScrabbleModel("tiny").getDictionary().validWord("dog"));
+
+        LexiconRegistry.register("house", wordFile.toString());
+        Dictionary before = LexiconRegistry.get("house").getDictionary();
+        Files.write(wordFile, Arrays.asList("qi", "za", "xu", "jo"));
+        Dictionary after = LexiconRegistry.reload("house").getDictionary();
+        assertTrue("The reloaded lexicon should have the new word", after.validWord("jo"));
+        assertFalse("The old snapshot should not change", before.validWord("jo"));
+    }
+
+    @Test
+    public void testReloadPublishesWhenReady() throws IOException {
+        LexiconRegistry.register("house", wordFile.toString());
+        ScrabbleModel running = new ScrabbleModel("house");
+        LexiconLoad old = LexiconRegistry.get("house");
+        Dictionary before = old.getDictionary();
+        int reloads = LexiconRegistry.getReloadCount();
+        Files.write(wordFile, Arrays.asList("qi", "za", "xu", "jo"));
+        LexiconLoad reload = LexiconRegistry.reload("house");
+        if (!reload.isDone()) {
+            assertSame("The old snapshot should stay published while reloading", old, LexiconRegistry.get("house"));
+        }
+        reload.getDictionary();
+        assertNotSame(old, LexiconRegistry.get("house"));
+        assertTrue("The running game should follow the reload", running.getDictionary().validWord("jo"));
+        assertTrue(new ScrabbleModel("house").getDictionary().validWord("jo"));
+        assertFalse("The old dictionary should not change", before.validWord("jo"));
+        assertEquals(reloads + 1, LexiconRegistry.getReloadCount());
+        assertTrue(LexiconRegistry.getLastReloadNanos() > 0);
+    }
+
+    @Test
+    public void testOverlappingReloadsKeepTheNewest() throws IOException {
+        LexiconRegistry.register("house", wordFile.toString());
+        ScrabbleModel running = new ScrabbleModel("house");
+        running.getDictionary();
+        int reloads = LexiconRegistry.getReloadCount();
+        //the loads run only when the test says so, to finish them in the opposite order to their start
+        List<Runnable> first = new ArrayList<>();
+        List<Runnable> second = new ArrayList<>();
+        LexiconLoad earlier = LexiconRegistry.reload("house", first::add);
+        Files.write(wordFile, Arrays.asList("qi", "za", "xu", "jo"));
+        LexiconLoad later = LexiconRegistry.reload("house", second::add);
+        second.get(0).run();
+        assertTrue(later.getDictionary().validWord("jo"));
+        assertTrue(running.getDictionary().validWord("jo"));
+
+        //the earlier reload reads the old words and finishes last
+        Files.write(wordFile, Arrays.asList("qi", "za", "xu"));
+        first.get(0).run();
+        assertFalse(earlier.getDictionary().validWord("jo"));
+        assertTrue("The older reload should not replace the newer one",
+                LexiconRegistry.get("house").getDictionary().validWord("jo"));
+        assertTrue("The running game should keep the newer words", running.getDictionary().validWord("jo"));
+        assertEquals("Only the published reload should be counted", reloads + 1, LexiconRegistry.getReloadCount());
+    }
+
+    @Test
+    public void testWatcherReloads() throws Exception {
+        LexiconRegistry.register("house", wordFile.toString());
+        ScrabbleModel running = new ScrabbleModel("house");
+        running.getDictionary();
+        assertTrue(LexiconWatcher.watch("house"));
+        assertTrue(LexiconWatcher.isWatching("house"));
+        Files.write(wordFile, Arrays.asList("qi", "za", "xu", "jo"));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!running.getDictionary().validWord("jo") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue("The watcher should reload the changed word file", running.getDictionary().validWord("jo"));
+    }
+
+    @Test
+    public void testSelectLexicon(){
+        ScrabbleModel model = new ScrabbleModel();
+        assertFalse("An unknown lexicon should not be selected", model.selectLexicon("nothing"));
+        assertEquals(LexiconRegistry.DEFAULT, model.getLexiconName());
+        LexiconRegistry.register("house", wordFile.toString());
+        assertTrue(model.selectLexicon("house"));
+        assertTrue(model.getDictionary().validWord("za"));
+    }
+
+    @Test
+    public void testSavedGameKeepsLexicon() throws Exception {
+        LexiconRegistry.register("house", wordFile.toString());
+        ScrabbleModel model = new ScrabbleModel("house");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(model);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ScrabbleModel loaded = (ScrabbleModel) in.readObject();
+            assertEquals("house", loaded.getLexiconName());
+            assertTrue(loaded.getDictionary().validWord("xu"));
+        }
+        //a lexicon that is no longer registered is found again from its word file
+        LexiconRegistry.unregister("house");
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ScrabbleModel loaded = (ScrabbleModel) in.readObject();
+            assertEquals("house", loaded.getLexiconName());
+            assertTrue(loaded.getDictionary().validWord("xu"));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the word files of lexicons in LexiconRegistry and reloads a lexicon when its word file, or its
+ * compiled lexicon file, changes, so a patched word list is picked up without restarting the program or the
+ * games being played. The directories are watched on one daemon thread, and a lexicon is reloaded once its
+ * files have been quiet for a moment, as a file is often written in several steps.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public final class LexiconWatcher {
+    //how long the files must go unchanged before the lexicon is reloaded
+    private static final long SETTLE_MILLIS = 300;
+
+    private static final Set<String> watched = ConcurrentHashMap.newKeySet();
+    private static WatchService service;
+
+    private LexiconWatcher() {
+    }
+
+    /**
+     * Starts watching the word file of a lexicon, starting the watcher thread if it is not running.
+     * @param name the name of the lexicon
+     * @return true if the lexicon is watched, false if its directory could not be watched
+     * @throws IllegalArgumentException if there is no lexicon with this name, or it has no word file
+     */
+    public static synchronized boolean watch(String name) {
+        String fileName = LexiconRegistry.getFileName(name);
+        if (fileName == null) {
+            throw new IllegalArgumentException("Lexicon " + name + " has no word file to watch");
+        }
+        try {
+            if (service == null) {
+                service = FileSystems.getDefault().newWatchService();
+                WatchService started = service;
+                Thread thread = new Thread(() -> run(started), "lexicon-watcher");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            path(fileName).getParent().register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.err.println("Could not watch the word file of lexicon " + name + ": " + e.getMessage());
+            return false;
+        }
+        watched.add(name);
+        return true;
+    }
+
+    /**
+     * Stops watching the word file of a lexicon. Its directory stays watched, but changes are ignored.
+     * @param name the name of the lexicon
+     * @return true if the lexicon was watched
+     */
+    public static boolean unwatch(String name) {
+        return watched.remove(name);
+    }
+
+    /**
+     * Checks if the word file of a lexicon is watched.
+     * @param name the name of the lexicon
+     * @return true if changes to the word file reload the lexicon
+     */
+    public static boolean isWatching(String name) {
+        return watched.contains(name);
+    }
+
+    /**
+     * Stops watching every lexicon and ends the watcher thread.
+     */
+    public static synchronized void stop() {
+        watched.clear();
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            service = null;
+        }
+    }
+
+    /**
+     * Waits for changes in the watched directories and reloads the lexicons whose files changed, until the
+     * watch service is closed.
+     */
+    private static void run(WatchService service) {
+        Set<String> changed = new HashSet<>();
+        try {
+            while (true) {
+                //once something changed, wait only until the files settle
+                WatchKey key = changed.isEmpty() ? service.take() : service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    changed.forEach(LexiconWatcher::reload);
+                    changed.clear();
+                    continue;
+                }
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        //some events were lost, so any of the files may have changed
+                        changed.addAll(watched);
+                    } else {
+                        changed.addAll(lexiconsOf(directory.resolve((Path) event.context())));
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            //stopped
+        }
+    }
+
+    /**
+     * Gets the watched lexicons loaded from a file, as their word file or their compiled lexicon file.
+     */
+    private static Set<String> lexiconsOf(Path file) {
+        Set<String> names = new HashSet<>();
+        for (String name : watched) {
+            String fileName = LexiconRegistry.contains(name) ? LexiconRegistry.getFileName(name) : null;
+            if (fileName != null && (file.equals(path(fileName)) || file.equals(path(Dictionary.compiledFileName(fileName))))) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Reloads a lexicon, unless it stopped being watched or was removed while its files settled.
+     */
+    private static void reload(String name) {
+        if (!watched.contains(name) || !LexiconRegistry.contains(name)) {
+            return;
+        }
+        try {
+            LexiconRegistry.reload(name);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Could not reload lexicon " + name + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the absolute path of a file.
+     */
+    private static Path path(String fileName) {
+        return Paths.get(fileName).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,174 @@
+import java.util.*;
+
+/**
+ * Succinct trie of the words, stored in about one byte per trie node. The shape of the trie is a LOUDS bit
+ * string (level order unary degree sequence): visiting the nodes level by level, each node writes a one per
+ * child followed by a zero. Node i is the i-th node visited (the root is 0), its children's ones start right
+ * after the i-th zero, and the child on the j-th one of the string is node j + 1, so walking the trie only
+ * needs rank and select on the bit string. Next to it are the 5 bit letter of every edge and one bit per node
+ * for the nodes that end a word.
+ *
+ * It is meant for processes that keep many lexicons in memory: it is smaller than a word list or a DAWG, but a
+ * step down the trie costs a select, so lookups are slower.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class LoudsTrie implements TrieLexicon {
+    private static final int LABEL_BITS = 5;
+
+    private final BitVector louds;
+    private final BitVector terminal;
+    //the letter of each edge in level order, LABEL_BITS each
+    private final long[] labels;
+    private final int nodeCount;
+    private final int wordCount;
+
+    /**
+     * Constructor, builds the trie of a word list. Words are lower cased, and blank lines and words with
+     * characters other than letters are skipped.
+     * @param wordList the words
+     */
+    public LoudsTrie(Collection<String> wordList) {
+        String[] words = wordList.stream()
+                .map(word -> word.trim().toLowerCase())
+                .filter(word -> !word.isEmpty() && word.chars().allMatch(c -> c >= 'a' && c <= 'z'))
+                .sorted().distinct().toArray(String[]::new);
+        wordCount = words.length;
+
+        BitVector.Builder shape = new BitVector.Builder();
+        BitVector.Builder ends = new BitVector.Builder();
+        List<Integer> letters = new ArrayList<>();
+        //each node is the range of sorted words starting with its prefix, visited level by level
+        int[] low = new int[16];
+        int[] high = new int[16];
+        int[] depth = new int[16];
+        int queued = 1;
+        low[0] = 0;
+        high[0] = words.length;
+        int visited = 0;
+        for (; visited < queued; visited++) {
+            int first = low[visited];
+            int end = high[visited];
+            int length = depth[visited];
+            //a word equal to the prefix sorts before the longer ones
+            boolean isWord = first < end && words[first].length() == length;
+            ends.add(isWord);
+            for (int i = isWord ? first + 1 : first; i < end; ) {
+                char letter = words[i].charAt(length);
+                int next = i;
+                while (next < end && words[next].charAt(length) == letter) {
+                    next++;
+                }
+                if (queued == low.length) {
+                    low = Arrays.copyOf(low, queued * 2);
+                    high = Arrays.copyOf(high, queued * 2);
+                    depth = Arrays.copyOf(depth, queued * 2);
+                }
+                low[queued] = i;
+                high[queued] = next;
+                depth[queued] = length + 1;
+                queued++;
+                shape.add(true);
+                letters.add(letter - 'a');
+                i = next;
+            }
+            shape.add(false);
+        }
+        nodeCount = visited;
+        louds = shape.build();
+        terminal = ends.build();
+        labels = new long[(letters.size() * LABEL_BITS + 63) / 64 + 1];
+        for (int edge = 0; edge < letters.size(); edge++) {
+            long bit = (long) edge * LABEL_BITS;
+            int word = (int) (bit >>> 6);
+            int offset = (int) (bit & 63);
+            long letter = letters.get(edge);
+            labels[word] |= letter << offset;
+            if (offset > 64 - LABEL_BITS) {
+                labels[word + 1] |= letter >>> (64 - offset);
+            }
+        }
+    }
+
+    /**
+     * Gets the letter of an edge.
+     */
+    private int label(int edge) {
+        long bit = (long) edge * LABEL_BITS;
+        int word = (int) (bit >>> 6);
+        int offset = (int) (bit & 63);
+        long value = labels[word] >>> offset;
+        if (offset > 64 - LABEL_BITS) {
+            value |= labels[word + 1] << (64 - offset);
+        }
+        return (int) value & ((1 << LABEL_BITS) - 1);
+    }
+
+    /**
+     * Gets the position of a node's first child bit in the LOUDS string.
+     */
+    private int childrenStart(int node) {
+        return node == 0 ? 0 : louds.select0(node) + 1;
+    }
+
+    @Override
+    public int root() {
+        return 0;
+    }
+
+    @Override
+    public int child(int node, int letter) {
+        int start = childrenStart(node);
+        //there are node zeros before start, so the edges before it are the ones
+        int firstEdge = start - node;
+        for (int position = start; louds.get(position); position++) {
+            int edge = firstEdge + position - start;
+            int label = label(edge);
+            if (label == letter) {
+                return edge + 1;
+            }
+            if (label > letter) {
+                break;
+            }
+        }
+        return NO_NODE;
+    }
+
+    @Override
+    public boolean isTerminal(int node) {
+        return terminal.get(node);
+    }
+
+    @Override
+    public int edgeMask(int node) {
+        int start = childrenStart(node);
+        int firstEdge = start - node;
+        int mask = 0;
+        for (int position = start; louds.get(position); position++) {
+            mask |= 1 << label(firstEdge + position - start);
+        }
+        return mask;
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Gets the number of nodes in the trie.
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the memory used by the trie's bit strings and letters.
+     * @return the size in bytes
+     */
+    public long getMemoryBytes() {
+        return louds.getMemoryBytes() + terminal.getMemoryBytes() + 8L * labels.length;
+    }
+}
@@ -0,0 +1,84 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Test class for LoudsTrie and BitVector.
+ * Tests rank and select against counting bits, and the trie against the word list.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class LoudsTrieTest {
+
+    @Test
+    public void testRankSelect(){
+        Random random = new Random(7);
+        for (int length : new int[]{1, 63, 64, 512, 1024, 5000, 70000}){
+            BitVector.Builder builder = new BitVector.Builder();
+            boolean[] expected = new boolean[length];
+            for (int i = 0; i < length; i++){
+                expected[i] = random.nextInt(3) == 0;
+                builder.add(expected[i]);
+            }
+            BitVector bits = builder.build();
+            int ones = 0;
+            int zeros = 0;
+            for (int i = 0; i < length; i++){
+                assertEquals(ones, bits.rank1(i));
+                assertEquals(expected[i], bits.get(i));
+                if (expected[i]){
+                    ones++;
+                } else {
+                    zeros++;
+                    assertEquals("Zero " + zeros + " of " + length, i, bits.select0(zeros));
+                }
+            }
+            assertEquals(ones, bits.rank1(length));
+            assertEquals(-1, bits.select0(zeros + 1));
+        }
+    }
+
+    @Test
+    public void testSelectOnFullBlocks(){
+        //exactly 512 zeros, the number of zeros in a select sample
+        BitVector.Builder builder = new BitVector.Builder();
+        for (int i = 0; i < 1024; i++){
+            builder.add(i % 2 == 0);
+        }
+        BitVector bits = builder.build();
+        assertEquals(1023, bits.select0(512));
+        assertEquals(1, bits.select0(1));
+    }
+
+    @Test
+    public void testWords(){
+        List<String> words = Dictionary.wordList();
+        LoudsTrie trie = new LoudsTrie(words);
+        assertEquals(words.size(), trie.size());
+        for (String word : words){
+            assertTrue(word + " should be in the trie", trie.contains(word));
+        }
+        assertEquals(new TreeSet<>(words), new TreeSet<>(trie.words()));
+        assertFalse(trie.contains("qxz"));
+        assertFalse("A prefix is not a word", trie.contains("abroa"));
+        assertTrue(trie.hasPrefix("ABROA"));
+    }
+
+    @Test
+    public void testSmallTrie(){
+        LoudsTrie trie = new LoudsTrie(Arrays.asList("a", "an", "and", "ant", "b", "be", "x-ray", ""));
+        assertEquals(6, trie.size());
+        assertEquals(Arrays.asList("a", "an", "and", "ant", "b", "be"), trie.words());
+        assertEquals((1 << 0) | (1 << 1), trie.edgeMask(trie.root()));
+        assertEquals(TrieLexicon.NO_NODE, trie.child(trie.root(), 'z' - 'a'));
+    }
+
+    @Test
+    public void testDictionaryBackend(){
+        Dictionary dictionary = new Dictionary("scrabbleWords.txt", Dictionary.Backend.LOUDS);
+        assertTrue(dictionary.validWord("ABROAD"));
+        assertSame("The trie should be used for prefix walks", dictionary.getLexicon(), dictionary.getTrie());
+        assertEquals(Arrays.asList("abroad"), dictionary.query("abro?d"));
+    }
+}
@@ -7,9 +7,29 @@
 public class Main {
     /**
      * Main method to start the app.
-     * @param args which is the line of command arguments
+     * @param args which is the line of command arguments, each name=wordFile adds a word list to pick from
+     * Setting the scrabble.watch system property to true reloads a word list whenever its file changes
+     * Setting the scrabble.ai.threads system property, such as to the number of cores, finds the AI's moves on that many threads
+     * Setting the scrabble.ai.budget system property gives the AI that many milliseconds for a turn, playing the best move found in time
      */
     public static void main(String[] args){
+        //register the word lists given on the command line
+        for (String arg : args){
+            int equals = arg.indexOf('=');
+            if (equals > 0){
+                LexiconRegistry.register(arg.substring(0, equals), arg.substring(equals + 1));
+            } else {
+                System.err.println("Ignoring argument " + arg + ", word lists are given as name=wordFile");
+            }
+        }
+        //reload the word lists when ops patch their files
+        if (Boolean.getBoolean("scrabble.watch")){
+            for (String name : LexiconRegistry.names()){
+                if (LexiconRegistry.getFileName(name) != null){
+                    LexiconWatcher.watch(name);
+                }
+            }
+        }
         //creation of model
         ScrabbleModel model = new ScrabbleModel();
         //creation of gui view
@@ -0,0 +1,296 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * Word graph lexicon read straight from a compiled lexicon file mapped into memory.
+ * Opening the file only maps it and checks its header and size, so it takes no time to load whatever the size
+ * of the file, and the word data stays outside the Java heap, shared with every other process that maps the
+ * same file. The checksum reads every page of the file, so it is only checked by verify.
+ * The graph is read through a MemorySegment: a read only mapping of the file, or, with offHeap, memory
+ * outside the heap holding the same layout, for big lexicons that have not been compiled. Either way the heap
+ * holds no String or array per word, so the garbage collector has nothing to mark for them. Both segments come
+ * from automatic arenas, so they are released once the lexicon is garbage.
+ * Files are written by LexiconCompiler. A file can also hold a PerfectHashLexicon instead of a word graph, the
+ * header says which, and Dictionary opens either.
+ *
+ * File format, all numbers big endian:
+ * <pre>
+ * int  magic        'SCLX'
+ * int  version      1
+ * int  type         0 for a DAWG, 1 for a perfect hash (laid out as in PerfectHashLexicon), 2 for a GADDAG
+ *                   (laid out as a DAWG, with the separator as symbol 26)
+ * int  wordCount
+ * int  nodeCount
+ * int  edgeCount
+ * long checksum     CRC32 of everything after the header
+ * int  nodeInfo[nodeCount]     edge mask and terminal flag of each node, as in Dawg
+ * int  firstEdge[nodeCount]
+ * int  edgeTarget[edgeCount]
+ * </pre>
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class MappedLexicon implements TrieLexicon {
+    static final int MAGIC = 0x53434C58;
+    static final int VERSION = 1;
+    static final int TYPE_DAWG = 0;
+    static final int TYPE_PERFECT_HASH = 1;
+    static final int TYPE_GADDAG = 2;
+    static final int HEADER_SIZE = 32;
+    //the numbers of the file, which start on a multiple of 4 in a mapping, but not always in a heap array
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final int type;
+    private final int wordCount;
+    //the graph arrays, one after the other
+    private final MemorySegment data;
+    //where the firstEdge and edgeTarget arrays start, in ints from the start of data
+    private final long firstEdge;
+    private final long edgeTarget;
+    private final int nodeCount;
+    //the whole image, header included
+    private final MemorySegment image;
+
+    private MappedLexicon(MemorySegment image) throws IOException {
+        data = graphData(image, TYPE_DAWG);
+        type = TYPE_DAWG;
+        wordCount = image.get(INT, 12);
+        nodeCount = image.get(INT, 16);
+        firstEdge = nodeCount;
+        edgeTarget = 2L * nodeCount;
+        this.image = image;
+    }
+
+    /**
+     * Checks the header and size of a graph image, a DAWG or a GADDAG. The checksum is not checked, see
+     * checksumMatches.
+     * @param image the image
+     * @param expectedType the type of graph it should hold
+     * @return the graph arrays after the header
+     * @throws IOException if the image is not a valid graph of that type
+     */
+    static MemorySegment graphData(MemorySegment image, int expectedType) throws IOException {
+        if (image.byteSize() < HEADER_SIZE || image.get(INT, 0) != MAGIC) {
+            throw new IOException("Not a compiled lexicon file");
+        }
+        if (image.get(INT, 4) != VERSION) {
+            throw new IOException("Unsupported lexicon file version " + image.get(INT, 4));
+        }
+        if (image.get(INT, 8) != expectedType) {
+            throw new IOException(expectedType == TYPE_GADDAG ? "Lexicon file does not hold a GADDAG"
+                    : "Lexicon file does not hold a word graph");
+        }
+        int nodeCount = image.get(INT, 16);
+        int edgeCount = image.get(INT, 20);
+        if (nodeCount < 1 || edgeCount < 0
+                || image.byteSize() != HEADER_SIZE + 4L * (2L * nodeCount + edgeCount)) {
+            throw new IOException("Lexicon file is truncated or corrupt");
+        }
+        return image.asSlice(HEADER_SIZE);
+    }
+
+    /**
+     * Checks the data of a compiled lexicon image against the checksum in its header. This reads the whole
+     * image.
+     * @param image the image
+     * @return true if the data is intact
+     */
+    static boolean checksumMatches(MemorySegment image) {
+        CRC32 crc = new CRC32();
+        crc.update(image.asSlice(HEADER_SIZE).asByteBuffer());
+        return crc.getValue() == image.get(LONG, 24);
+    }
+
+    /**
+     * Copies a word graph into memory outside the Java heap. The graph itself can be dropped afterwards.
+     * @param dawg the word graph
+     * @return the lexicon
+     */
+    public static MappedLexicon offHeap(Dawg dawg) {
+        try {
+            return new MappedLexicon(MemorySegment.ofBuffer(image(dawg, true)));
+        } catch (IOException e) {
+            //the image was just made, so it is always valid
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builds the word graph of a word list in memory outside the Java heap. Only the graph's builder uses the
+     * heap, and it is garbage once this returns.
+     * @param wordList the words
+     * @return the lexicon
+     */
+    public static MappedLexicon offHeap(Collection<String> wordList) {
+        return offHeap(Dawg.build(wordList));
+    }
+
+    /**
+     * Lays a word graph out as a compiled lexicon file, header included.
+     * @param dawg the word graph
+     * @param direct true to put the image outside the Java heap
+     * @return the image, ready to be read from the start
+     */
+    static ByteBuffer image(Dawg dawg, boolean direct) {
+        return image(dawg, TYPE_DAWG, dawg.size(), direct);
+    }
+
+    /**
+     * Lays a graph out as a compiled lexicon file of a type, header included.
+     * @param dawg the graph
+     * @param type TYPE_DAWG or TYPE_GADDAG
+     * @param wordCount the number of words the graph holds
+     * @param direct true to put the image outside the Java heap, in a segment of an automatic arena
+     * @return the image, ready to be read from the start
+     */
+    static ByteBuffer image(Dawg dawg, int type, int wordCount, boolean direct) {
+        int[] nodeInfo = dawg.getNodeInfo();
+        int[] firstEdge = dawg.getFirstEdge();
+        int[] edgeTarget = dawg.getEdgeTarget();
+        int dataBytes = 4 * (nodeInfo.length + firstEdge.length + edgeTarget.length);
+        ByteBuffer image = direct ? Arena.ofAuto().allocate(HEADER_SIZE + dataBytes, 8).asByteBuffer()
+                : ByteBuffer.allocate(HEADER_SIZE + dataBytes);
+
+        ByteBuffer data = image.slice(HEADER_SIZE, dataBytes);
+        data.asIntBuffer().put(nodeInfo).put(firstEdge).put(edgeTarget);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        image.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(type)
+                .putInt(wordCount)
+                .putInt(nodeInfo.length)
+                .putInt(edgeTarget.length)
+                .putLong(crc.getValue());
+        return image.clear();
+    }
+
+    /**
+     * Maps a compiled lexicon file into memory.
+     * @param path the path of the file
+     * @return the lexicon
+     * @throws IOException if the file can not be read or is not a valid compiled lexicon
+     */
+    public static MappedLexicon open(Path path) throws IOException {
+        return new MappedLexicon(mapSegment(path));
+    }
+
+    /**
+     * Maps a compiled lexicon file of either type, a word graph or a perfect hash.
+     * @param path the path of the file
+     * @return the lexicon
+     * @throws IOException if the file can not be read or is not a valid compiled lexicon
+     */
+    public static Lexicon openAny(Path path) throws IOException {
+        MemorySegment image = mapSegment(path);
+        if (image.byteSize() >= HEADER_SIZE && image.get(INT, 8) == TYPE_PERFECT_HASH) {
+            return new PerfectHashLexicon(image.asByteBuffer());
+        }
+        return new MappedLexicon(image);
+    }
+
+    /**
+     * Maps a whole file into memory, read only.
+     * @param path the path of the file
+     * @return the mapped file
+     * @throws IOException if the file can not be read
+     */
+    static ByteBuffer map(Path path) throws IOException {
+        return mapSegment(path).asByteBuffer();
+    }
+
+    /**
+     * Maps a whole file into memory, read only, as a segment that is unmapped once it is garbage.
+     * @param path the path of the file
+     * @return the mapped file
+     * @throws IOException if the file can not be read
+     */
+    static MemorySegment mapSegment(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            //the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+        }
+    }
+
+    @Override
+    public int root() {
+        return 0;
+    }
+
+    @Override
+    public int child(int node, int letter) {
+        int info = data.getAtIndex(INT, node);
+        if ((info & (1 << letter)) == 0) {
+            return NO_NODE;
+        }
+        int edge = data.getAtIndex(INT, firstEdge + node) + Integer.bitCount(info & ((1 << letter) - 1));
+        return data.getAtIndex(INT, edgeTarget + edge);
+    }
+
+    @Override
+    public boolean isTerminal(int node) {
+        return (data.getAtIndex(INT, node) & Dawg.TERMINAL) != 0;
+    }
+
+    @Override
+    public int edgeMask(int node) {
+        return data.getAtIndex(INT, node) & Dawg.EDGE_BITS;
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Checks the graph against the checksum in the header, reading every page of it.
+     * @return true if the graph is intact
+     */
+    public boolean verify() {
+        return checksumMatches(image);
+    }
+
+    /**
+     * Gets the type of graph stored in the file.
+     * @return the type, TYPE_DAWG for a word graph
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Gets the number of nodes in the graph.
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Checks if the words are outside the Java heap, which they always are unless the lexicon was read into a
+     * heap buffer.
+     * @return true if the words are mapped or off heap
+     */
+    public boolean isOffHeap() {
+        return image.isNative();
+    }
+
+    /**
+     * Gets the memory used by the graph and its header, outside the heap when isOffHeap is true.
+     * @return the size in bytes
+     */
+    public long getMemoryBytes() {
+        return image.byteSize();
+    }
+}
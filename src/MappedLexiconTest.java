@@ -0,0 +1,123 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Test class for MappedLexicon and LexiconCompiler.
+ * Tests that a compiled lexicon file maps back to the same words and that damaged files are rejected.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class MappedLexiconTest {
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("test_lexicon", ".lex");
+        LexiconCompiler.write(Dawg.build(Dictionary.wordList()), file);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testMapsSameWords() throws IOException {
+        MappedLexicon lexicon = MappedLexicon.open(file);
+        assertEquals("Lexicon should have 10000 words", 10000, lexicon.size());
+        for (String word : Dictionary.wordList()) {
+            assertTrue(word + " should be in the lexicon", lexicon.contains(word));
+        }
+        assertFalse("'Pedri' should not be in the lexicon", lexicon.contains("Pedri"));
+        assertTrue("'abro' should start a word", lexicon.hasPrefix("abro"));
+    }
+
+    @Test
+    public void testDictionaryFromCompiledFile(){
+        Dictionary dictionary = new Dictionary(file.toString());
+        assertTrue("Dictionary should use the mapped file", dictionary.getLexicon() instanceof MappedLexicon);
+        assertTrue("'AUBURN' should be a valid word", dictionary.validWord("AUBURN"));
+        assertEquals(10000, dictionary.getSize());
+    }
+
+    @Test
+    public void testCorruptFileRejected() throws IOException {
+        assertTrue("The compiled file should be intact", MappedLexicon.open(file).verify());
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertFalse("A changed byte should fail the checksum", MappedLexicon.open(file).verify());
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+        try {
+            MappedLexicon.open(file);
+            fail("A truncated file should not load");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("truncated"));
+        }
+    }
+
+    @Test
+    public void testNotALexiconRejected() throws IOException {
+        Files.write(file, "hello\nworld\n".getBytes());
+        try {
+            MappedLexicon.open(file);
+            fail("A word list should not load as a compiled lexicon");
+        } catch (IOException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMissingCompiledFile() throws IOException {
+        //the mapped backend falls back on the word file when it has no compiled file
+        Path words = Files.createTempFile("test_words", ".txt");
+        try {
+            Files.write(words, Dictionary.wordList());
+            Dictionary dictionary = new Dictionary(words.toString(), Dictionary.Backend.MAPPED);
+            assertTrue(dictionary.validWord("AUBURN"));
+            assertEquals(10000, dictionary.getSize());
+        } finally {
+            Files.deleteIfExists(words);
+        }
+
+        //a compiled file given on its own has nothing to fall back on
+        Files.write(file, "hello\nworld\n".getBytes());
+        try {
+            new Dictionary(file.toString());
+            fail("A damaged lexicon file should not load as an empty dictionary");
+        } catch (UncheckedIOException e) {
+            assertTrue(e.getMessage().contains(file.toString()));
+        }
+    }
+
+    @Test
+    public void testOffHeap() throws IOException {
+        MappedLexicon lexicon = MappedLexicon.offHeap(Dictionary.wordList());
+        assertTrue(lexicon.isOffHeap());
+        assertEquals(10000, lexicon.size());
+        for (String word : Dictionary.wordList()) {
+            assertTrue(word + " should be in the lexicon", lexicon.contains(word));
+        }
+        assertTrue("'abro' should start a word", lexicon.hasPrefix("abro"));
+        assertArrayEquals("The off heap image should match the compiled file", Files.readAllBytes(file),
+                MappedLexicon.image(Dawg.build(Dictionary.wordList()), false).array());
+
+        Dictionary dictionary = new Dictionary(lexicon);
+        assertTrue(dictionary.isOffHeap());
+        assertTrue(dictionary.validWord("AUBURN"));
+        assertNotSame("An off heap dictionary should not keep its word list", dictionary.getWords(), dictionary.getWords());
+        assertEquals(dictionary.getWords(), dictionary.getWords());
+        assertFalse(new Dictionary(MappedLexicon.open(file)).getWords().isEmpty());
+    }
+
+    @Test
+    public void testCompiledFileName(){
+        assertEquals("scrabbleWords.lex", Dictionary.compiledFileName("scrabbleWords.txt"));
+        assertEquals("dir.v2/words.lex", Dictionary.compiledFileName("dir.v2/words"));
+    }
+}
@@ -0,0 +1,257 @@
+import java.util.*;
+
+/**
+ * Base class of the move generators, which find every legal move for a rack from the anchor squares of a board
+ * (empty squares next to a tile, or the center square on an empty board).
+ * It sets the search up, the rack counts, the letters of the board as rows and as columns and the anchors and
+ * cross-checks of each line, records the moves and stops at a deadline. Subclasses only walk their word graph
+ * from each anchor. Moves are found across rows, and down columns by walking the board transposed.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public abstract class MoveGenerator {
+    //state of the search, only used during generate
+    protected int size;
+    //the board, if its cross-checks are kept for the word graph of the generator
+    private Board crossCheckBoard;
+    protected int direction;
+    protected int line;
+    protected int anchor;
+    protected char[] cells;
+    protected int[] crossChecks;
+    //the letters of the board by row and by column, 0 for an empty square, and the anchors of each line
+    private char[][] grid;
+    private char[][] transposed;
+    private int[] rowAnchors;
+    private int[] columnAnchors;
+    //anchor squares of the line, bit i set if square i is an anchor
+    protected int anchors;
+    protected final char[] word = new char[32];
+    protected final int[] rackCounts = new int[26];
+    protected int blanks;
+    private List<AIPlayer.AIPlay> moves;
+    //generate stops once System.nanoTime() passes the deadline, if there is one, checking every few steps
+    private boolean timed;
+    private long deadline;
+    private int steps;
+    private boolean stopped;
+
+    /**
+     * Finds every legal move for a rack.
+     * @param board the board to play on
+     * @param rack the tiles that can be played
+     * @return every move, with its position, direction (1 is right, 2 is down) and the whole word formed
+     */
+    public List<AIPlayer.AIPlay> generate(Board board, List<Tile> rack) {
+        prepare(board, rack);
+        for (int direction = 1; direction <= 2; direction++) {
+            for (int line = 0; line < size; line++) {
+                generateLine(direction, line);
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Finds every legal move for a rack along one row or column, in the order generate finds them, so the lines
+     * of a board can be shared out between generators.
+     * @param board the board to play on
+     * @param rack the tiles that can be played
+     * @param direction 1 for the moves across a row, 2 for the moves down a column
+     * @param line the row or column
+     * @return every move along the line, with its position, direction and the whole word formed
+     */
+    public List<AIPlayer.AIPlay> generate(Board board, List<Tile> rack, int direction, int line) {
+        prepare(board, rack);
+        generateLine(direction, line);
+        return moves;
+    }
+
+    /**
+     * Makes generate stop once System.nanoTime() passes a deadline, returning the moves found until then.
+     * @param deadline the System.nanoTime() value to stop at
+     */
+    public void setDeadline(long deadline) {
+        this.timed = true;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Checks if the last call to generate stopped at the deadline before finding every move.
+     * @return true if some moves may be missing
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Checks if the board keeps its cross-checks for the word graph of this generator, so they can be read
+     * from it.
+     * @param board the board to play on
+     * @return true if the board's cross-checks can be used
+     */
+    protected abstract boolean usesCrossChecksOf(Board board);
+
+    /**
+     * Finds the letters that can be placed on an empty square without forming an invalid word across the line,
+     * when the board does not keep them.
+     * @param grid the letters of the board, transposed when going down
+     * @param row the line of the square in the grid
+     * @param col the square in the line
+     * @return the mask of allowed letters
+     */
+    protected abstract int crossCheck(char[][] grid, int row, int col);
+
+    /**
+     * Finds the moves through the current anchor square of the current line.
+     */
+    protected abstract void generateAnchor();
+
+    /**
+     * Checks the deadline every 1024 steps of the search, and remembers once it has passed.
+     * @return true if the search should stop
+     */
+    protected boolean outOfTime() {
+        if (timed && !stopped && (++steps & 1023) == 0 && System.nanoTime() - deadline > 0) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * Sets up the search for a board and rack: counts the rack, copies the letters of the board, as rows and as
+     * columns, and gets the anchor squares of every line.
+     */
+    private void prepare(Board board, List<Tile> rack) {
+        size = board.getBoardSize();
+        crossCheckBoard = usesCrossChecksOf(board) ? board : null;
+        moves = new ArrayList<>();
+        steps = 0;
+        stopped = false;
+        Arrays.fill(rackCounts, 0);
+        blanks = 0;
+        for (Tile tile : rack) {
+            if (tile.isBlank()) {
+                blanks++;
+            } else if (TrieLexicon.letterIndex(tile.getCharacter()) >= 0) {
+                rackCounts[TrieLexicon.letterIndex(tile.getCharacter())]++;
+            }
+        }
+
+        grid = new char[size][size];
+        transposed = new char[size][size];
+        for (int row = 0; row < size; row++) {
+            //only the squares between the first and last tile of the row can have one
+            for (int col = board.getRowFirst(row); col >= 0 && col <= board.getRowLast(row); col++) {
+                Tile tile = board.getPosition(row, col);
+                if (tile != null) {
+                    grid[row][col] = Character.toUpperCase(tile.isBlank() ? tile.getRepresentedLetter() : tile.getCharacter());
+                    transposed[col][row] = grid[row][col];
+                }
+            }
+        }
+        //the anchor squares come from the board, or are the center square on an empty board
+        rowAnchors = new int[size];
+        columnAnchors = new int[size];
+        if (board.isEmpty()) {
+            rowAnchors[size / 2] = 1 << (size / 2);
+            columnAnchors[size / 2] = 1 << (size / 2);
+        } else {
+            for (int i = 0; i < size; i++) {
+                rowAnchors[i] = board.getRowAnchors(i);
+                columnAnchors[i] = board.getColumnAnchors(i);
+            }
+        }
+    }
+
+    /**
+     * Generates the moves along one line. Lines are rows of the grid, so the columns of the board are handled
+     * with the transposed board.
+     * @param direction the direction of the moves, 1 for right and 2 for down
+     * @param line the row, or the column when going down
+     */
+    private void generateLine(int direction, int line) {
+        this.direction = direction;
+        this.line = line;
+        char[][] grid = direction == 1 ? this.grid : transposed;
+        cells = grid[line];
+        anchors = direction == 1 ? rowAnchors[line] : columnAnchors[line];
+        if (anchors == 0) {
+            //no move can be played along this line
+            return;
+        }
+        crossChecks = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (cells[i] != 0) {
+                crossChecks[i] = 0;
+            } else if (crossCheckBoard != null) {
+                crossChecks[i] = direction == 1 ? crossCheckBoard.getCrossCheck(line, i, direction)
+                        : crossCheckBoard.getCrossCheck(i, line, direction);
+            } else {
+                crossChecks[i] = crossCheck(grid, line, i);
+            }
+        }
+        for (anchor = 0; anchor < size && !stopped; anchor++) {
+            if ((anchors & (1 << anchor)) != 0) {
+                generateAnchor();
+            }
+        }
+    }
+
+    /**
+     * Gets the mask of letters the rack can still play, every letter while a blank is left.
+     */
+    protected int available() {
+        if (blanks > 0) {
+            return Board.ALL_LETTERS;
+        }
+        int mask = 0;
+        for (int letter = 0; letter < 26; letter++) {
+            if (rackCounts[letter] > 0) {
+                mask |= 1 << letter;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Takes a tile for a letter from the rack, a real tile if there is one left and a blank otherwise.
+     * @return true if a real tile was taken
+     */
+    protected boolean take(int letter) {
+        if (rackCounts[letter] > 0) {
+            rackCounts[letter]--;
+            return true;
+        }
+        blanks--;
+        return false;
+    }
+
+    /**
+     * Puts back the tile taken for a letter.
+     */
+    protected void giveBack(int letter, boolean real) {
+        if (real) {
+            rackCounts[letter]++;
+        } else {
+            blanks++;
+        }
+    }
+
+    /**
+     * Adds the word from the leftmost to the rightmost square of the line as a move.
+     */
+    protected void record(int leftmost, int rightmost) {
+        if (rightmost == leftmost) {
+            //one letter is not a word, that tile is played as part of a word in the other direction
+            return;
+        }
+        String played = new String(word, leftmost, rightmost - leftmost + 1);
+        if (direction == 1) {
+            moves.add(new AIPlayer.AIPlay(line, leftmost, direction, played));
+        } else {
+            moves.add(new AIPlayer.AIPlay(leftmost, line, direction, played));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Finds and scores the moves of an AI player on many threads. The board is copied once, and every row and column
+ * with an anchor square becomes a task on a ForkJoinPool that finds the moves along it with its own generator and
+ * scores them on the copy. The moves of the lines are merged back in the order one generator finds them, so the
+ * best move is the same one a single thread picks.
+ * With the candidate words strategy the moves are found on one thread, as they do not come line by line, and
+ * only the scoring is shared out.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class ParallelMoveGenerator {
+    //candidate moves scored by each task with the candidate words strategy
+    private static final int CHUNK_SIZE = 256;
+    //one pool for each number of threads asked for, shared by every generator
+    private static final Map<Integer, ForkJoinPool> pools = new ConcurrentHashMap<>();
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor
+     * @param pool the pool that runs the task of each line
+     */
+    public ParallelMoveGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Gets the shared pool with a number of threads, starting it the first time.
+     * @param threads the number of threads
+     * @return the pool
+     */
+    public static ForkJoinPool pool(int threads) {
+        return pools.computeIfAbsent(threads, ForkJoinPool::new);
+    }
+
+    /**
+     * Finds every move of an AI player with its strategy and scores it on the board.
+     * @param model the game
+     * @param ai the player whose turn it is
+     * @return every move with its wordScore set, in the order the player's strategy finds them on one thread
+     */
+    public List<AIPlayer.AIPlay> generate(ScrabbleModel model, AIPlayer ai) {
+        Board board = model.getBoardSnapshot();
+        List<Tile> rack = new ArrayList<>(ai.getTiles());
+        Dictionary dictionary = board.getDictionary();
+        List<ForkJoinTask<List<AIPlayer.AIPlay>>> tasks = new ArrayList<>();
+
+        if (ai.getStrategy() == AIPlayer.Strategy.CANDIDATE_WORDS) {
+            List<AIPlayer.AIPlay> candidates = ai.GetCandidateWordMoves(model);
+            for (int i = 0; i < candidates.size(); i += CHUNK_SIZE) {
+                List<AIPlayer.AIPlay> chunk = candidates.subList(i, Math.min(i + CHUNK_SIZE, candidates.size()));
+                tasks.add(pool.submit(() -> score(model, board, rack, chunk)));
+            }
+        } else {
+            //the graphs are built before the tasks start, so they are not built by many threads at once
+            Gaddag gaddag = ai.getStrategy() == AIPlayer.Strategy.GADDAG ? dictionary.getGaddag() : null;
+            TrieLexicon trie = dictionary.getTrie();
+            dictionary.getHooks();
+            for (int direction = 1; direction <= 2; direction++) {
+                for (int line = 0; line < board.getBoardSize(); line++) {
+                    if (!hasAnchors(board, direction, line)) {
+                        continue;
+                    }
+                    int d = direction;
+                    int l = line;
+                    tasks.add(pool.submit(() -> {
+                        MoveGenerator generator = gaddag != null ? new GaddagMoveGenerator(gaddag, dictionary)
+                                : new TrieMoveGenerator(trie);
+                        return score(model, board, rack, generator.generate(board, rack, d, l));
+                    }));
+                }
+            }
+        }
+
+        List<AIPlayer.AIPlay> moves = new ArrayList<>();
+        for (ForkJoinTask<List<AIPlayer.AIPlay>> task : tasks) {
+            moves.addAll(task.join());
+        }
+        return moves;
+    }
+
+    /**
+     * Finds the highest scoring move of an AI player, the first one found if several score the same.
+     * @param model the game
+     * @param ai the player whose turn it is
+     * @return the best move with its wordScore set, or null if no move scores
+     */
+    public AIPlayer.AIPlay best(ScrabbleModel model, AIPlayer ai) {
+        AIPlayer.AIPlay best = null;
+        for (AIPlayer.AIPlay play : generate(model, ai)) {
+            if (play.wordScore > 0 && (best == null || play.wordScore > best.wordScore)) {
+                best = play;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Scores moves on the copy of the board.
+     */
+    private static List<AIPlayer.AIPlay> score(ScrabbleModel model, Board board, List<Tile> rack,
+                                               List<AIPlayer.AIPlay> moves) {
+        for (AIPlayer.AIPlay play : moves) {
+            play.wordScore = model.scoreMove(board, rack, play.xPos, play.yPos, play.direction, play.word);
+        }
+        return moves;
+    }
+
+    /**
+     * Checks if a line has an anchor square, or is the middle line of an empty board.
+     */
+    private static boolean hasAnchors(Board board, int direction, int line) {
+        if (board.isEmpty()) {
+            return line == board.getBoardSize() / 2;
+        }
+        return (direction == 1 ? board.getRowAnchors(line) : board.getColumnAnchors(line)) != 0;
+    }
+}
@@ -0,0 +1,81 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Test class for ParallelMoveGenerator.
+ * Tests that the moves found and scored on many threads are the same, in the same order and with the same scores,
+ * as the moves one thread finds and scores, for every strategy.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class ParallelMoveGeneratorTest {
+    private ScrabbleModel model;
+    private ParallelMoveGenerator generator;
+
+    @Before
+    public void setUp(){
+        model = new ScrabbleModel();
+        model.initializeGame(2, new String[]{"AI 1", "AI 2"});
+        generator = new ParallelMoveGenerator(ParallelMoveGenerator.pool(3));
+    }
+
+    private List<String> scoredMoves(List<AIPlayer.AIPlay> moves){
+        List<String> list = new ArrayList<>();
+        for (AIPlayer.AIPlay move : moves){
+            list.add(move.xPos + "," + move.yPos + "," + move.direction + "," + move.word + "=" + move.wordScore);
+        }
+        return list;
+    }
+
+    @Test
+    public void testSameMovesAsOneThread(){
+        for (int turn = 0; turn < 6 && model.isPlaying(); turn++){
+            AIPlayer ai = (AIPlayer) model.getCurrentPlayer();
+            for (AIPlayer.Strategy strategy : AIPlayer.Strategy.values()){
+                ai.setStrategy(strategy);
+                List<AIPlayer.AIPlay> expected = ai.GetPossibleMoves(model);
+                for (AIPlayer.AIPlay move : expected){
+                    move.wordScore = model.placeWord(move.xPos, move.yPos, move.direction, move.word, false);
+                }
+                assertEquals("Turn " + turn + " with " + strategy, scoredMoves(expected),
+                        scoredMoves(generator.generate(model, ai)));
+            }
+            ai.setStrategy(AIPlayer.Strategy.GADDAG);
+            model.CheckAITurn();
+        }
+    }
+
+    @Test
+    public void testBestMove(){
+        AIPlayer ai = (AIPlayer) model.getCurrentPlayer();
+        ai.getTiles().clear();
+        for (char c : "CATSDOG".toCharArray()){
+            ai.addTile(new Tile(c));
+        }
+        AIPlayer.AIPlay best = generator.best(model, ai);
+        assertNotNull("CATSDOG should have a move on the empty board", best);
+
+        //the first of the highest scoring moves one thread finds
+        AIPlayer.AIPlay expected = null;
+        for (AIPlayer.AIPlay move : ai.GetPossibleMoves(model)){
+            move.wordScore = model.placeWord(move.xPos, move.yPos, move.direction, move.word, false);
+            if (move.wordScore > 0 && (expected == null || move.wordScore > expected.wordScore)){
+                expected = move;
+            }
+        }
+        assertEquals(scoredMoves(Collections.singletonList(expected)), scoredMoves(Collections.singletonList(best)));
+
+        //the AI plays the best move on many threads too
+        ai.setThreads(4);
+        int scoreBefore = ai.getScore();
+        model.CheckAITurn();
+        assertEquals("The AI should gain the best move's score", scoreBefore + best.wordScore, ai.getScore());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNeedsOneThread(){
+        ((AIPlayer) model.getCurrentPlayer()).setThreads(0);
+    }
+}
@@ -0,0 +1,434 @@
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Lexicon stored behind a minimal perfect hash function, which sends each of its n words to its own slot from 0
+ * to n - 1, so the table has no empty slots and a lookup never probes more than one slot.
+ * The function is built by hash and displace (as in CHD and PTHash): the words are split into buckets of about
+ * BUCKET_SIZE words, and each bucket gets the smallest pilot number that hashes all of its words into free
+ * slots. Looking a word up is hashing it, reading its bucket's pilot and going to the slot, where a 16 bit
+ * fingerprint of the word rejects almost every non-word without looking at the letters. The letters of the word
+ * in the slot are then compared, so the lexicon is exact.
+ *
+ * Everything is kept in one buffer laid out like a compiled lexicon file (see MappedLexicon), so a lexicon built
+ * in memory can be written out as it is, and opening the file only maps it and reads its header, which takes the
+ * same time whatever the size of the word list. Words are stored one byte per letter, so words with characters
+ * past 'ÿ' are skipped.
+ *
+ * Data after the header, all numbers big endian:
+ * <pre>
+ * long seed                          seed of the hash, changed if two words ever hash the same
+ * long pilots[]                      the pilot of each bucket, pilotBits bits each
+ * int  starts[wordCount + 1]         where the letters of the word in each slot start
+ * short fingerprints[wordCount]      fingerprint of the word in each slot
+ * byte letters[]                     the lower cased letters of every word, in slot order
+ * </pre>
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class PerfectHashLexicon implements Lexicon {
+    //average number of words in a bucket, bigger buckets mean fewer pilots but a slower build
+    static final int BUCKET_SIZE = 5;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final ByteBuffer buffer;
+    private final int wordCount;
+    private final int bucketCount;
+    private final int pilotBits;
+    private final long seed;
+    private final int pilotsOffset;
+    private final int startsOffset;
+    private final int fingerprintsOffset;
+    private final int lettersOffset;
+
+    /**
+     * Reads the header of a lexicon image, built in memory or mapped from a file.
+     * @param buffer the image, starting with the header
+     * @throws IOException if the image is not a perfect hash lexicon or its sizes do not add up
+     */
+    PerfectHashLexicon(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < MappedLexicon.HEADER_SIZE + 8 || buffer.getInt(0) != MappedLexicon.MAGIC) {
+            throw new IOException("Not a compiled lexicon file");
+        }
+        if (buffer.getInt(4) != MappedLexicon.VERSION) {
+            throw new IOException("Unsupported lexicon file version " + buffer.getInt(4));
+        }
+        if (buffer.getInt(8) != MappedLexicon.TYPE_PERFECT_HASH) {
+            throw new IOException("Lexicon file does not hold a perfect hash");
+        }
+        this.buffer = buffer;
+        wordCount = buffer.getInt(12);
+        bucketCount = buffer.getInt(16);
+        pilotBits = buffer.getInt(20);
+        seed = buffer.getLong(MappedLexicon.HEADER_SIZE);
+        pilotsOffset = MappedLexicon.HEADER_SIZE + 8;
+        startsOffset = pilotsOffset + 8 * pilotLongs(bucketCount, pilotBits);
+        fingerprintsOffset = startsOffset + 4 * (wordCount + 1);
+        lettersOffset = fingerprintsOffset + 2 * wordCount;
+        if (wordCount < 0 || bucketCount < 1 || pilotBits < 0 || pilotBits > 32
+                || fingerprintsOffset > buffer.capacity()
+                || (long) lettersOffset + buffer.getInt(startsOffset + 4 * wordCount) != buffer.capacity()) {
+            throw new IOException("Lexicon file is truncated or corrupt");
+        }
+    }
+
+    /**
+     * Builds a lexicon from a word list.
+     * @param wordList the words, blank lines are skipped
+     * @return the lexicon
+     */
+    public static PerfectHashLexicon build(Collection<String> wordList) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String word : wordList) {
+            word = word.trim().toLowerCase();
+            if (!word.isEmpty() && word.chars().allMatch(c -> c <= 0xff)) {
+                unique.add(word);
+            }
+        }
+        String[] words = unique.toArray(new String[0]);
+        for (long seed = 0; ; seed++) {
+            ByteBuffer image = build(words, seed);
+            if (image != null) {
+                try {
+                    return new PerfectHashLexicon(image);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the image of a lexicon with a hash seed.
+     * @return the image, or null if two words hash the same with this seed
+     */
+    private static ByteBuffer build(String[] words, long seed) {
+        int n = words.length;
+        int bucketCount = Math.max(1, (n + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        long[] hashes = new long[n];
+        //sort the words by bucket with a counting sort
+        int[] bucketStarts = new int[bucketCount + 1];
+        for (int i = 0; i < n; i++) {
+            hashes[i] = hash(words[i], seed);
+            bucketStarts[bucket(hashes[i], bucketCount) + 1]++;
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            bucketStarts[b + 1] += bucketStarts[b];
+        }
+        int[] byBucket = new int[n];
+        int[] next = Arrays.copyOf(bucketStarts, bucketCount);
+        for (int i = 0; i < n; i++) {
+            byBucket[next[bucket(hashes[i], bucketCount)]++] = i;
+        }
+        //place the biggest buckets first, while there is the most room
+        Integer[] order = new Integer[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[b] = b;
+        }
+        Arrays.sort(order, (a, b) -> (bucketStarts[b + 1] - bucketStarts[b]) - (bucketStarts[a + 1] - bucketStarts[a]));
+
+        int[] pilots = new int[bucketCount];
+        int[] slotWord = new int[n];
+        Arrays.fill(slotWord, -1);
+        int[] slots = new int[BUCKET_SIZE * 8];
+        for (int b : order) {
+            int start = bucketStarts[b];
+            int size = bucketStarts[b + 1] - start;
+            if (size == 0) {
+                continue;
+            }
+            if (slots.length < size) {
+                slots = new int[size];
+            }
+            for (int i = start + 1; i < start + size; i++) {
+                for (int j = start; j < i; j++) {
+                    if (hashes[byBucket[i]] == hashes[byBucket[j]]) {
+                        //no pilot can ever separate them
+                        return null;
+                    }
+                }
+            }
+            for (int pilot = 0; ; pilot++) {
+                boolean free = true;
+                for (int i = 0; i < size && free; i++) {
+                    slots[i] = slot(hashes[byBucket[start + i]], pilot, n);
+                    free = slotWord[slots[i]] < 0;
+                    for (int j = 0; j < i && free; j++) {
+                        free = slots[j] != slots[i];
+                    }
+                }
+                if (free) {
+                    pilots[b] = pilot;
+                    for (int i = 0; i < size; i++) {
+                        slotWord[slots[i]] = byBucket[start + i];
+                    }
+                    break;
+                }
+            }
+        }
+
+        int maxPilot = 0;
+        for (int pilot : pilots) {
+            maxPilot = Math.max(maxPilot, pilot);
+        }
+        int pilotBits = 32 - Integer.numberOfLeadingZeros(maxPilot);
+        long letterCount = 0;
+        for (String word : words) {
+            letterCount += word.length();
+        }
+        int pilotLongs = pilotLongs(bucketCount, pilotBits);
+        long size = MappedLexicon.HEADER_SIZE + 8 + 8L * pilotLongs + 4L * (n + 1) + 2L * n + letterCount;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Word list is too big for one lexicon");
+        }
+        ByteBuffer image = ByteBuffer.allocate((int) size);
+        image.position(MappedLexicon.HEADER_SIZE);
+        image.putLong(seed);
+        long[] packed = new long[pilotLongs];
+        for (int b = 0; b < bucketCount; b++) {
+            long bit = (long) b * pilotBits;
+            packed[(int) (bit >>> 6)] |= (long) pilots[b] << bit;
+            if ((bit & 63) + pilotBits > 64) {
+                packed[(int) (bit >>> 6) + 1] |= (long) pilots[b] >>> (64 - (bit & 63));
+            }
+        }
+        for (long bits : packed) {
+            image.putLong(bits);
+        }
+        int letters = 0;
+        for (int slot = 0; slot < n; slot++) {
+            image.putInt(letters);
+            letters += words[slotWord[slot]].length();
+        }
+        image.putInt(letters);
+        for (int slot = 0; slot < n; slot++) {
+            image.putShort(fingerprint(hashes[slotWord[slot]]));
+        }
+        for (int slot = 0; slot < n; slot++) {
+            String word = words[slotWord[slot]];
+            for (int i = 0; i < word.length(); i++) {
+                image.put((byte) word.charAt(i));
+            }
+        }
+
+        ByteBuffer data = image.slice(MappedLexicon.HEADER_SIZE, image.capacity() - MappedLexicon.HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        image.putInt(0, MappedLexicon.MAGIC)
+                .putInt(4, MappedLexicon.VERSION)
+                .putInt(8, MappedLexicon.TYPE_PERFECT_HASH)
+                .putInt(12, n)
+                .putInt(16, bucketCount)
+                .putInt(20, pilotBits)
+                .putLong(24, crc.getValue());
+        return image.clear();
+    }
+
+    /**
+     * Maps a compiled perfect hash lexicon file into memory. Only the header is read, the checksum is checked by
+     * verify.
+     * @param path the path of the file
+     * @return the lexicon
+     * @throws IOException if the file can not be read or is not a perfect hash lexicon
+     */
+    public static PerfectHashLexicon open(Path path) throws IOException {
+        return new PerfectHashLexicon(MappedLexicon.map(path));
+    }
+
+    /**
+     * Writes the lexicon to a compiled lexicon file.
+     * @param path the path of the file to write
+     * @throws IOException if the file can not be written
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer image = buffer.duplicate().clear();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (image.hasRemaining()) {
+                channel.write(image);
+            }
+        }
+    }
+
+    /**
+     * Checks the data against the checksum in the header.
+     * @return true if the data is intact
+     */
+    public boolean verify() {
+        return MappedLexicon.checksumMatches(MemorySegment.ofBuffer(buffer));
+    }
+
+    private static int pilotLongs(int bucketCount, int pilotBits) {
+        //one spare long so a pilot can always be read with two longs
+        return (int) (((long) bucketCount * pilotBits + 63) / 64) + 1;
+    }
+
+    /**
+     * Hashes the lower cased characters of a word to 64 bits, FNV-1a followed by a finalizer.
+     */
+    private static long hash(CharSequence word, long seed) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= Character.toLowerCase(word.charAt(i));
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long hash(char[] word, int offset, int length, long seed) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = offset; i < offset + length; i++) {
+            hash ^= Character.toLowerCase(word[i]);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * Gets the bucket of a hash from its top 32 bits.
+     */
+    private static int bucket(long hash, int bucketCount) {
+        return (int) (((hash >>> 32) * bucketCount) >>> 32);
+    }
+
+    /**
+     * Gets the slot a pilot sends a hash to.
+     */
+    private static int slot(long hash, int pilot, int n) {
+        return (int) (((mix(hash ^ (pilot * GOLDEN)) >>> 32) * n) >>> 32);
+    }
+
+    private static short fingerprint(long hash) {
+        return (short) hash;
+    }
+
+    /**
+     * Reads the pilot of a bucket from the packed pilots.
+     */
+    private int pilot(int bucket) {
+        if (pilotBits == 0) {
+            return 0;
+        }
+        long bit = (long) bucket * pilotBits;
+        int index = pilotsOffset + 8 * (int) (bit >>> 6);
+        long bits = buffer.getLong(index) >>> bit;
+        if ((bit & 63) + pilotBits > 64) {
+            bits |= buffer.getLong(index + 8) << (64 - (bit & 63));
+        }
+        return (int) (bits & (-1L >>> (64 - pilotBits)));
+    }
+
+    /**
+     * Gets the only slot a word can be in.
+     */
+    private int slotOf(long hash) {
+        return slot(hash, pilot(bucket(hash, bucketCount)), wordCount);
+    }
+
+    @Override
+    public boolean contains(CharSequence word) {
+        if (wordCount == 0) {
+            return false;
+        }
+        long hash = hash(word, seed);
+        int slot = slotOf(hash);
+        if (buffer.getShort(fingerprintsOffset + 2 * slot) != fingerprint(hash)) {
+            return false;
+        }
+        int start = buffer.getInt(startsOffset + 4 * slot);
+        if (buffer.getInt(startsOffset + 4 * slot + 4) - start != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.toLowerCase(word.charAt(i)) != (buffer.get(lettersOffset + start + i) & 0xff)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(char[] letters, int offset, int length) {
+        if (wordCount == 0) {
+            return false;
+        }
+        long hash = hash(letters, offset, length, seed);
+        int slot = slotOf(hash);
+        if (buffer.getShort(fingerprintsOffset + 2 * slot) != fingerprint(hash)) {
+            return false;
+        }
+        int start = buffer.getInt(startsOffset + 4 * slot);
+        if (buffer.getInt(startsOffset + 4 * slot + 4) - start != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase(letters[offset + i]) != (buffer.get(lettersOffset + start + i) & 0xff)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    @Override
+    public List<String> words() {
+        List<String> words = new ArrayList<>(wordCount);
+        char[] word = new char[16];
+        for (int slot = 0; slot < wordCount; slot++) {
+            int start = buffer.getInt(startsOffset + 4 * slot);
+            int length = buffer.getInt(startsOffset + 4 * slot + 4) - start;
+            if (word.length < length) {
+                word = new char[length];
+            }
+            for (int i = 0; i < length; i++) {
+                word[i] = (char) (buffer.get(lettersOffset + start + i) & 0xff);
+            }
+            words.add(new String(word, 0, length));
+        }
+        Collections.sort(words);
+        return words;
+    }
+
+    /**
+     * Gets the bits the hash function takes per word, the pilots without the fingerprints and the words.
+     * @return the bits per word
+     */
+    public double getBitsPerWord() {
+        return wordCount == 0 ? 0 : (double) bucketCount * pilotBits / wordCount;
+    }
+
+    /**
+     * Gets the memory used by the whole image: the hash function, the fingerprints and the words.
+     * @return the size in bytes
+     */
+    public long getMemoryBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Checks if the image is outside the Java heap, which it is when it was mapped from a file.
+     * @return true if the image is mapped or off heap
+     */
+    public boolean isOffHeap() {
+        return buffer.isDirect();
+    }
+}
@@ -0,0 +1,112 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Test class for PerfectHashLexicon.
+ * Tests that every word is found, that non-words are rejected and that the compiled file maps back to the
+ * same lexicon.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class PerfectHashLexiconTest {
+    private static PerfectHashLexicon lexicon;
+    private Path file;
+
+    @BeforeClass
+    public static void build(){
+        lexicon = PerfectHashLexicon.build(Dictionary.wordList());
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("test_perfect_hash", ".lex");
+        lexicon.write(file);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testFindsEveryWord(){
+        assertEquals(10000, lexicon.size());
+        for (String word : Dictionary.wordList()) {
+            assertTrue(word + " should be in the lexicon", lexicon.contains(word.toUpperCase()));
+        }
+        assertEquals(new HashLexicon(Dictionary.wordList()).words(), lexicon.words());
+        assertTrue("The hash function should take a few bits per word", lexicon.getBitsPerWord() < 8);
+    }
+
+    @Test
+    public void testRejectsNonWords(){
+        HashLexicon exact = new HashLexicon(Dictionary.wordList());
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            char[] letters = new char[2 + random.nextInt(6)];
+            for (int j = 0; j < letters.length; j++) {
+                letters[j] = (char) ('a' + random.nextInt(26));
+            }
+            String word = new String(letters);
+            assertEquals(word, exact.contains(word), lexicon.contains(word));
+            assertEquals(word, exact.contains(word), lexicon.contains(letters, 0, letters.length));
+        }
+        assertFalse(lexicon.contains(""));
+        assertFalse(lexicon.contains("abroadĀ"));
+    }
+
+    @Test
+    public void testSmallWordLists(){
+        assertFalse(PerfectHashLexicon.build(Collections.emptyList()).contains("a"));
+        PerfectHashLexicon one = PerfectHashLexicon.build(Arrays.asList("cat", "CAT", " "));
+        assertEquals(1, one.size());
+        assertTrue(one.contains("Cat"));
+        assertFalse(one.contains("cab"));
+    }
+
+    @Test
+    public void testMapsSameWords() throws IOException {
+        PerfectHashLexicon mapped = PerfectHashLexicon.open(file);
+        assertTrue(mapped.verify());
+        assertEquals(lexicon.size(), mapped.size());
+        for (String word : Dictionary.wordList()) {
+            assertTrue(word + " should be in the mapped lexicon", mapped.contains(word));
+        }
+        assertFalse(mapped.contains("Pedri"));
+    }
+
+    @Test
+    public void testDictionaryFromCompiledFile(){
+        Dictionary dictionary = new Dictionary(file.toString());
+        assertTrue("Dictionary should use the perfect hash", dictionary.getLexicon() instanceof PerfectHashLexicon);
+        assertTrue(dictionary.validWord("AUBURN"));
+        assertTrue("A word graph should still be built for prefixes", dictionary.isPrefix("abro"));
+    }
+
+    @Test
+    public void testDamagedFiles() throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertFalse("A changed letter should fail the checksum", PerfectHashLexicon.open(file).verify());
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        try {
+            PerfectHashLexicon.open(file);
+            fail("A truncated file should not load");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("truncated"));
+        }
+        LexiconCompiler.write(Dawg.build(Dictionary.wordList()), file);
+        try {
+            PerfectHashLexicon.open(file);
+            fail("A word graph should not load as a perfect hash");
+        } catch (IOException e) {
+            assertNotNull(e.getMessage());
+        }
+        assertTrue(MappedLexicon.openAny(file) instanceof MappedLexicon);
+    }
+}
@@ -76,6 +76,20 @@ public class ScrabbleController implements ActionListener{
      * @param playerNames is the array of player names
      */
     public void startGame(int numPlayers, String[] playerNames){
+        startGame(numPlayers, playerNames, model.getLexiconName() == null ? LexiconRegistry.DEFAULT : model.getLexiconName());
+    }
+
+    /**
+     * Now we start a new game with the given number of players and lexicon
+     * @param numPlayers number of players from 2 to 4
+     * @param playerNames is the array of player names
+     * @param lexiconName the name of the lexicon in LexiconRegistry to play with
+     */
+    public void startGame(int numPlayers, String[] playerNames, String lexiconName){
+        if (!model.selectLexicon(lexiconName)){
+            view.showFailed("There is no word list called " + lexiconName);
+            return;
+        }
         if (model.initializeGame(numPlayers, playerNames)){
             view.showWorked("Game started! " + model.getCurrentPlayer().getName() + "'s turn.");
             // Check and do AI turns until it is no longer an AI's turn
@@ -224,6 +224,7 @@ public class ScrabbleGUI extends JFrame implements ScrabbleView{
                     this.model = loaded;
                     this.model.addView(this);
                     update();
+                    showDictionaryProgress();
                     showWorked("Game loaded!");
                 } else {
                     showFailed("Failed to load the game.");
@@ -246,9 +247,39 @@ public class ScrabbleGUI extends JFrame implements ScrabbleView{
         setLocationRelativeTo(null);
         setResizable(true);
         setSize(500,500);
+        showDictionaryProgress();
 
     }
 
+    /**
+     * Shows how much of the dictionary has loaded in the status label until it is ready,
+     * the window can be shown while the dictionary loads in the background
+     */
+    private void showDictionaryProgress(){
+        LexiconLoad load = model.getDictionaryLoad();
+        if (load.isDone()){
+            return;
+        }
+        String idleStatus = statusLabel.getText();
+        statusLabel.setText("Loading dictionary... 0%");
+        Timer timer = new Timer(100, null);
+        timer.addActionListener(e -> {
+            //leave the label alone if something else has been shown on it since
+            boolean showingProgress = statusLabel.getText().startsWith("Loading dictionary");
+            if (load.isDone()){
+                timer.stop();
+                if (load.isFailed()){
+                    statusLabel.setText("Could not load the dictionary");
+                } else if (showingProgress){
+                    statusLabel.setText(idleStatus);
+                }
+            } else if (showingProgress){
+                statusLabel.setText("Loading dictionary... " + (int) (load.getProgress() * 100) + "%");
+            }
+        });
+        timer.start();
+    }
+
     /**
      * Sets the controller for the view
      * @param controller the controller to handle the user actions
@@ -300,8 +331,20 @@ public class ScrabbleGUI extends JFrame implements ScrabbleView{
                 playerNames[i] = name.trim();
             }
 
+            //only ask for the word list when there is more than one to pick from
+            String lexiconName = LexiconRegistry.DEFAULT;
+            String[] lexicons = LexiconRegistry.names().toArray(new String[0]);
+            if (lexicons.length > 1){
+                Object picked = JOptionPane.showInputDialog(this, "Select the word list:", "New Game",
+                        JOptionPane.QUESTION_MESSAGE, null, lexicons, LexiconRegistry.DEFAULT);
+                if (picked == null){
+                    return;
+                }
+                lexiconName = picked.toString();
+            }
+
             if (controller != null){
-                controller.startGame(numPlayers, playerNames);
+                controller.startGame(numPlayers, playerNames, lexiconName);
             }
         }
     }
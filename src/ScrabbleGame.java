@@ -25,7 +25,7 @@ import java.util.*;
         isPlaying = false;
         userInput = new Scanner(System.in);
         bagOfTiles = new TileBag();
-        gameDictionary = new Dictionary();
+        gameDictionary = LexiconCache.getDefault();
     }
 
     /**
@@ -1,6 +1,7 @@
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.io.*;
 
 /**
@@ -14,13 +15,19 @@ import java.io.*;
 
 public class ScrabbleModel implements Serializable{
     private static final long serialVersionUID = 1L;
+    //scratch buffer for the words a move forms, one per thread so scoring makes no garbage
+    private static final ThreadLocal<WordBuffer> FORMED_WORDS = ThreadLocal.withInitial(WordBuffer::new);
 
     private transient List<ScrabbleView> views;
     private List<Player> playerList;
     private Board gameBoard;
     private int currentPlayer;
     private boolean isPlaying;
-    private transient Dictionary gameDictionary;
+    private transient LexiconLoad gameDictionary;
+    //name of the lexicon in LexiconRegistry the game plays with, null for a dictionary given directly
+    private String lexiconName;
+    //word file of the lexicon when the game started, so a saved game can find it again
+    private String lexiconFile;
     private TileBag bagOfTiles;
     private boolean isFirstTurn;
     private int scorelessTurns;
@@ -30,16 +37,43 @@ public class ScrabbleModel implements Serializable{
 
     /**
      * This is a constructor for ScrabbleModel
+     * The dictionary loads in the background, so the model is ready before the words are
      */
 
     public ScrabbleModel(){
+        this(LexiconRegistry.DEFAULT);
+    }
+
+    /**
+     * Constructor for a ScrabbleModel that plays with a lexicon from the registry
+     * @param lexiconName the name of the lexicon in LexiconRegistry
+     */
+    public ScrabbleModel(String lexiconName){
+        this(LexiconRegistry.get(lexiconName));
+        this.lexiconName = lexiconName;
+        this.lexiconFile = LexiconRegistry.getFileName(lexiconName);
+    }
+
+    /**
+     * Constructor for a ScrabbleModel that validates words with the given dictionary
+     * @param dictionary the dictionary to validate words with
+     */
+    public ScrabbleModel(Dictionary dictionary){
+        this(LexiconLoad.of(dictionary));
+    }
+
+    /**
+     * Constructor for a ScrabbleModel that validates words with a dictionary that may still be loading
+     * @param dictionary the handle to the dictionary to validate words with
+     */
+    public ScrabbleModel(LexiconLoad dictionary){
         views = new ArrayList<>();
         playerList = new ArrayList<>();
         gameBoard = new Board();
         currentPlayer = 0;
         isPlaying = false;
         bagOfTiles = new TileBag();
-        gameDictionary = new Dictionary();
+        gameDictionary = dictionary;
         isFirstTurn = true;
         scorelessTurns = 0;
     }
@@ -105,6 +139,12 @@ public class ScrabbleModel implements Serializable{
             while (playerList.get(i).getTiles().size() < 7 && !bagOfTiles.isEmpty()){
                 playerList.get(i).addTile(bagOfTiles.getRandomTile());
             }
+
+            //build the indexes an AI with a time budget needs in the background, so its first turn does not wait for them
+            if (playerList.get(i) instanceof AIPlayer && ((AIPlayer) playerList.get(i)).getTimeBudget() > 0){
+                AIPlayer.Strategy strategy = ((AIPlayer) playerList.get(i)).getStrategy();
+                CompletableFuture.runAsync(() -> AnytimeMoveSearch.prepare(getDictionary(), strategy));
+            }
         }
         isPlaying = true;
         notifyViews();
@@ -129,59 +169,11 @@ public class ScrabbleModel implements Serializable{
         //get the current player
         Player player = playerList.get(currentPlayer);
 
-        //now we validate the position
-        if (!gameBoard.validPosition(row, col)){
-            return 0;
-        }
-
-        //check if the word can fit on the board
-        if (direction == 1 && col + word.length() > gameBoard.getBoardSize()){
-            return 0;
-        }
-        if (direction == 2 && row + word.length() > gameBoard.getBoardSize()){
-            return 0;
-        }
-
-        //get tiles at the positions
+        //score the word against the board, finding the tiles it uses from the hand
+        gameBoard.setDictionary(getDictionary());
         List<Tile> usedTiles = new ArrayList<>();
         List<int[]> newTilePositions = new ArrayList<>();
-
-        for (int i = 0; i < word.length(); i++){
-            int r = (direction == 1) ? row : row + i;
-            int c = (direction == 1) ? col + i : col;
-
-            Tile existTile = gameBoard.getPosition(r, c);
-
-            if(existTile == null){
-                //we need to use a tile from hand
-                char needed = Character.toUpperCase((word.charAt(i)));
-                boolean found = false;
-
-                for (Tile t : player.getTiles()){
-                    if (!usedTiles.contains(t) && (t.getCharacter() == needed || t.isBlank())){
-                        usedTiles.add(t);
-                        newTilePositions.add(new int[] {r, c});
-                        found = true;
-                        break;
-                    }
-                }
-                if (!found){
-                    //the player does not have tile
-                        return  0;
-                }
-            } else {
-                //now we can handle blank tiles on the board
-                char existChar = existTile.isBlank() ? existTile.getRepresentedLetter() : existTile.getCharacter();
-                //the position has a tile already
-                if(existChar != Character.toUpperCase(word.charAt(i))){
-                    return 0;
-                }
-            }
-        }
-        // the player has to play at least one tile from their hand for the play to be valid
-        if (usedTiles.isEmpty()) { return 0;}
-        //calculate the score and validation of word
-        int score = scoreCalculation(row, col, direction, word, usedTiles, newTilePositions);
+        int score = scoreMove(gameBoard, player.getTiles(), row, col, direction, word, usedTiles, newTilePositions);
 
         hist.newTilePositions = newTilePositions;
 
@@ -253,8 +245,110 @@ public class ScrabbleModel implements Serializable{
         pointInHistory++;
     }
 
+    /**
+     * Scores a word played from a rack on a board, without placing it or changing the game, so moves can be
+     * scored on a snapshot of the board (see getBoardSnapshot) from many threads at once.
+     * @param board the board, with the game's dictionary attached
+     * @param rack the tiles the word can use
+     * @param row row from 0 to 14
+     * @param col column from 0 to 14
+     * @param direction 1 for right and 2 for down
+     * @param word the word to place
+     * @return the score if valid is >0 or 0 if not
+     */
+    public int scoreMove(Board board, List<Tile> rack, int row, int col, int direction, String word){
+        if(!isPlaying || word == null || word.isEmpty()){
+            return 0;
+        }
+        return scoreMove(board, rack, row, col, direction, word, new ArrayList<>(), new ArrayList<>());
+    }
+
+    /**
+     * Checks that a word fits on a board and can be played from a rack, then scores it
+     * @param usedTiles gets the tiles used from the rack, in the order they are placed
+     * @param newTilePositions gets the positions the tiles are placed on
+     * @return the score if valid is >0 or 0 if not
+     */
+    private int scoreMove(Board board, List<Tile> rack, int row, int col, int direction, String word,
+                          List<Tile> usedTiles, List<int[]> newTilePositions){
+        //now we validate the position
+        if (!board.validPosition(row, col)){
+            return 0;
+        }
+
+        //check if the word can fit on the board
+        if (direction == 1 && col + word.length() > board.getBoardSize()){
+            return 0;
+        }
+        if (direction == 2 && row + word.length() > board.getBoardSize()){
+            return 0;
+        }
+
+        //get tiles at the positions
+        for (int i = 0; i < word.length(); i++){
+            int r = (direction == 1) ? row : row + i;
+            int c = (direction == 1) ? col + i : col;
+
+            Tile existTile = board.getPosition(r, c);
+
+            if(existTile == null){
+                //we need to use a tile from hand
+                char needed = Character.toUpperCase((word.charAt(i)));
+                Tile found = unusedTile(rack, usedTiles, needed);
+                if (found == null){
+                    //the player does not have tile
+                        return  0;
+                }
+                usedTiles.add(found);
+                newTilePositions.add(new int[] {r, c});
+            } else {
+                //now we can handle blank tiles on the board
+                char existChar = existTile.isBlank() ? existTile.getRepresentedLetter() : existTile.getCharacter();
+                //the position has a tile already
+                if(existChar != Character.toUpperCase(word.charAt(i))){
+                    return 0;
+                }
+            }
+        }
+        // the player has to play at least one tile from their hand for the play to be valid
+        if (usedTiles.isEmpty()) { return 0;}
+        //calculate the score and validation of word
+        return scoreCalculation(board, row, col, direction, word, usedTiles);
+    }
+
+    /**
+     * Finds a tile of the rack that is not used yet for a letter, a normal tile if there is one so a blank is
+     * only used when no normal tile is left, like Player.removeTile
+     * @return the tile, or null if the rack has none left for the letter
+     */
+    private static Tile unusedTile(List<Tile> rack, List<Tile> usedTiles, char needed){
+        Tile blank = null;
+        for (Tile t : rack){
+            if (usedTiles.contains(t)){
+                continue;
+            }
+            if (!t.isBlank() && t.getCharacter() == needed){
+                return t;
+            }
+            if (t.isBlank() && blank == null){
+                blank = t;
+            }
+        }
+        return blank;
+    }
+
+    /**
+     * Gets the letter a tile shows, the letter a blank tile stands for or the tile's own letter
+     */
+    private static char tileLetter(Tile t){
+        return t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
+    }
+
     /**
      * Calculate the score for a placement of word
+     * The words formed across the direction of play by the new tiles are checked and scored with the board's
+     * cross-checks, so only the main word is looked up in the dictionary
+     * @param board the board, with the game's dictionary attached
      * @param row the row
      * @param col the column
      * @param direction 1 for right and 2 for down
@@ -262,200 +356,76 @@ public class ScrabbleModel implements Serializable{
      * @param usedTiles tiles used from the hand
      * @return score if valid and 0 if invalid
      */
-    private int scoreCalculation(int row, int col, int direction, String word, List<Tile> usedTiles, List<int[]>
-                                 newTilePositions){
-        Set<Tile> tilesInvolved = new HashSet<>(usedTiles);
+    private int scoreCalculation(Board board, int row, int col, int direction, String word, List<Tile> usedTiles){
+        Dictionary dictionary = board.getDictionary();
         boolean connectedToCurrentTile = false;
-        String checkWord = word.toUpperCase();
+        //the main word is written in here straight from the board
+        WordBuffer formedWords = FORMED_WORDS.get();
+        formedWords.clear();
 
         //check if word adds from current tiles in main direction
-        //vertical
-        if (direction == 2){
-            //check tiles above
-            for (int i = row - 1; i >= 0; i--){
-                Tile t = gameBoard.getPosition(i, col);
-                if (t == null){
-                    break;
-                }
-                char characterT = t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
-                checkWord = characterT + checkWord;
-                tilesInvolved.add(t);
-                connectedToCurrentTile = true;
-            }
-            //check tiles under
-            for (int i = row + word.length(); i < gameBoard.getBoardSize(); i++){
-                Tile t = gameBoard.getPosition(i, col);
-                if (t == null){
-                    break;
-                }
-                char characterT = t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
-                checkWord += characterT;
-                tilesInvolved.add(t);
-                connectedToCurrentTile = true;
-            }
-            // horizontal
-        } else {
-            //check tiles to the left
-            for (int i = col - 1; i >= 0; i--){
-                Tile t = gameBoard.getPosition(row, i);
-                if(t == null){
-                    break;
-                }
-                char characterT = t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
-                checkWord = characterT + checkWord;
-                tilesInvolved.add(t);
-                connectedToCurrentTile = true;
-            }
-            //check tiles on the right
-            for (int i = col + word.length(); i < gameBoard.getBoardSize(); i++){
-                Tile t = gameBoard.getPosition(row, i);
-                if (t == null){
-                    break;
-                }
-                char characterT = t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
-                checkWord += characterT;
-                tilesInvolved.add(t);
-                connectedToCurrentTile = true;
-            }
+        int rowStep = (direction == 2) ? 1 : 0;
+        int colStep = (direction == 1) ? 1 : 0;
+        //tiles above or to the left
+        int before = 0;
+        while (board.getPosition(row - (before + 1) * rowStep, col - (before + 1) * colStep) != null){
+            before++;
+        }
+        for (int i = before; i > 0; i--){
+            Tile t = board.getPosition(row - i * rowStep, col - i * colStep);
+            formedWords.append(tileLetter(t));
+            connectedToCurrentTile = true;
         }
-
-        //validate the word
-        if (!gameDictionary.validWord(checkWord.toLowerCase())){
-            return 0;
+        for (int i = 0; i < word.length(); i++){
+            formedWords.append(Character.toUpperCase(word.charAt(i)));
         }
-
-        Set<String> newPosSet = new HashSet<>();
-        for (int[] pos : newTilePositions){
-            newPosSet.add(pos[0] + "," + pos[1]);
+        //tiles under or to the right
+        for (int i = word.length(); board.getPosition(row + i * rowStep, col + i * colStep) != null; i++){
+            Tile t = board.getPosition(row + i * rowStep, col + i * colStep);
+            formedWords.append(tileLetter(t));
+            connectedToCurrentTile = true;
         }
+        formedWords.endWord();
+
         int score = 0;
         int multiplyWord = 1;
 
-        //check words in perpendicular
-        //horizontal, so we check words above and under each tile
-        if (direction == 1){
-            for (int i = 0; i < word.length(); i++){
-                int c = col + i;
-                String perpenWord = String.valueOf(word.charAt(i)).toUpperCase();
-
-                //check above
-                for (int r = row - 1; r >= 0; r--){
-                    Tile t = gameBoard.getPosition(r, c);
-                    if (t == null){
-                        break;
-                    }
-                    char characterT = t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
-                    perpenWord = characterT + perpenWord;
-                    tilesInvolved.add(t);
-                    connectedToCurrentTile = true;
-                }
-
-                //check under
-                for (int r = row + 1; r < gameBoard.getBoardSize(); r++){
-                    Tile t = gameBoard.getPosition(r, c);
-                    if (t == null){
-                        break;
-                    }
-                    char characterT = t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
-                    perpenWord += characterT;
-                    tilesInvolved.add(t);
-                    connectedToCurrentTile = true;
-                }
-                if (perpenWord.length() > 1 ){
-                    if (!gameDictionary.validWord(perpenWord.toLowerCase())){
-                        return 0;
-                    }
-
-                    int perpenScore = 0;
-                    int perpenMultiplier = 1;
-
-                    int startR = row;
-                    while (startR > 0 && gameBoard.getPosition(startR - 1, c) != null){
-                        startR--;
-                    }
-                    for (int r = startR; r < gameBoard.getBoardSize() && gameBoard.getPosition(r, c) != null; r++){
-                        Tile t = gameBoard.getPosition(r, c);
-                        int tileVal = t.getValue();
-                        int letterMult = 1;
-
-                        if (newPosSet.contains(r + "," + c)){
-                            Board.PremiumSquare prem = gameBoard.getPremiumSquare(r, c);
-                            if (prem == Board.PremiumSquare.DOUBLE_LETTER){
-                                letterMult = 2;
-                            } else if (prem == Board.PremiumSquare.TRIPLE_LETTER){
-                                letterMult = 3;
-                            } else if (prem == Board.PremiumSquare.DOUBLE_WORD){
-                                perpenMultiplier *= 2;
-                            } else if (prem == Board.PremiumSquare.TRIPLE_WORD){
-                                perpenMultiplier *= 3;
-                            }
-                        }
-                        perpenScore += tileVal * letterMult;
-                    }
-                    score += perpenScore * perpenMultiplier;
-                }
+        //check the words in perpendicular, one for each new tile with tiles next to it across the direction of play
+        int newTile = 0;
+        for (int i = 0; i < word.length(); i++){
+            int r = row + i * rowStep;
+            int c = col + i * colStep;
+            if (board.getPosition(r, c) != null){
+                //the word goes through a tile on the board, and any word across it is already there
+                connectedToCurrentTile = true;
+                continue;
             }
-            //vertical check words to the left and right of each tile
-        } else {
-            for (int i = 0; i < word.length(); i++){
-                int r = row + i;
-                String perpenWord = String.valueOf(word.charAt(i)).toUpperCase();
-
-                //check the left
-                for (int c = col - 1; c >= 0; c--){
-                    Tile t = gameBoard.getPosition(r, c);
-                    if (t == null){
-                        break;
-                    }
-                    char characterT = t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
-                    perpenWord = characterT + perpenWord;                    tilesInvolved.add(t);
-                    connectedToCurrentTile = true;
-                }
-                //check the right
-                for (int c = col + 1; c < gameBoard.getBoardSize(); c++){
-                    Tile t = gameBoard.getPosition(r, c);
-                    if (t == null){
-                        break;
-                    }
-                    char characterT = t.isBlank() ? t.getRepresentedLetter() : t.getCharacter();
-                    perpenWord += characterT;
-                    tilesInvolved.add(t);
-                    connectedToCurrentTile = true;
-                }
-                if (perpenWord.length() > 1 ){
-                    if (!gameDictionary.validWord(perpenWord.toLowerCase())){
-                        return 0;
-                    }
-
-                    int perpenScore = 0;
-                    int perpenMultiplier = 1;
-
-                    int startC = col;
-                    while (startC > 0 && gameBoard.getPosition(r, startC - 1) != null){
-                        startC--;
-                    }
-                    for (int c = startC; c < gameBoard.getBoardSize() && gameBoard.getPosition(r, c) != null; c++){
-                        Tile t = gameBoard.getPosition(r, c);
-                        int tileVal = t.getValue();
-                        int letterMult = 1;
-
-                        if (newPosSet.contains(r + "," + c)){
-                            Board.PremiumSquare prem = gameBoard.getPremiumSquare(r, c);
-                            if (prem == Board.PremiumSquare.DOUBLE_LETTER){
-                                letterMult = 2;
-                            } else if (prem == Board.PremiumSquare.TRIPLE_LETTER){
-                                letterMult = 3;
-                            } else if (prem == Board.PremiumSquare.DOUBLE_WORD){
-                                perpenMultiplier *= 2;
-                            } else if (prem == Board.PremiumSquare.TRIPLE_WORD){
-                                perpenMultiplier *= 3;
-                            }
-                        }
-                        perpenScore += tileVal * letterMult;
-                    }
-                    score += perpenScore * perpenMultiplier;
-                }
+            int tileVal = usedTiles.get(newTile++).getValue();
+            int crossScore = board.getCrossScore(r, c, direction);
+            if (crossScore < 0){
+                continue;
+            }
+            connectedToCurrentTile = true;
+            if (!HookIndex.hooks(board.getCrossCheck(r, c, direction), word.charAt(i))){
+                return 0;
+            }
+            int letterMult = 1;
+            int perpenMultiplier = 1;
+            Board.PremiumSquare prem = board.getPremiumSquare(r, c);
+            if (prem == Board.PremiumSquare.DOUBLE_LETTER){
+                letterMult = 2;
+            } else if (prem == Board.PremiumSquare.TRIPLE_LETTER){
+                letterMult = 3;
+            } else if (prem == Board.PremiumSquare.DOUBLE_WORD){
+                perpenMultiplier = 2;
+            } else if (prem == Board.PremiumSquare.TRIPLE_WORD){
+                perpenMultiplier = 3;
             }
+            score += (crossScore + tileVal * letterMult) * perpenMultiplier;
+        }
+        //validate the main word
+        if (dictionary.validateAll(formedWords) >= 0){
+            return 0;
         }
         //check if the first player touches the center
         if (isFirstTurn){
@@ -468,7 +438,7 @@ public class ScrabbleModel implements Serializable{
             if (!touchCenter){
                 return 0;
             }
-            if (tilesInvolved.size() <= 1){
+            if (usedTiles.size() <= 1 && !connectedToCurrentTile){
                 //the first word has to be more than one tile
                 return 0;
             }
@@ -480,29 +450,20 @@ public class ScrabbleModel implements Serializable{
         }
 
 
+        newTile = 0;
         for (int i = 0; i < word.length(); i++){
             int r = (direction == 1) ? row : row + i;
             int c = (direction == 1) ? col + i : col ;
 
-            Tile tile = gameBoard.getPosition(r, c);
-            boolean isNewTile = newPosSet.contains(r + "," + c);
+            Tile tile = board.getPosition(r, c);
+            //the new tiles are not placed yet, so they are the empty squares
+            boolean isNewTile = tile == null;
 
-            int tileVal = 0;
-            if (tile != null){
-                tileVal = tile.getValue();
-            } else {
-                //tile is not placed yet so we get from usedTiles
-                for (int j = 0; j < newTilePositions.size(); j++){
-                    if (newTilePositions.get(j)[0] == r && newTilePositions.get(j)[1] == c){
-                        tileVal = usedTiles.get(j).getValue();
-                        break;
-                    }
-                }
-            }
+            int tileVal = isNewTile ? usedTiles.get(newTile++).getValue() : tile.getValue();
             int letterMultiply = 1;
             // now we put premium squares only for new tiles
             if (isNewTile){
-                Board.PremiumSquare premium = gameBoard.getPremiumSquare(r, c);
+                Board.PremiumSquare premium = board.getPremiumSquare(r, c);
                 switch (premium){
                     case DOUBLE_LETTER:
                         letterMultiply = 2;
@@ -748,11 +709,32 @@ public class ScrabbleModel implements Serializable{
         notifyViews();
         AIPlayer ai =  (AIPlayer) playerList.get(currentPlayer);
         AIPlayer.AIPlay highestPlay = new AIPlayer.AIPlay(0, 0, 0, "a");
-        for (AIPlayer.AIPlay play : ai.GetPossibleMoves(this))
+        if (ai.getTimeBudget() > 0)
+        {
+            //search the most promising moves first and stop when the time is up
+            AnytimeMoveSearch search = new AnytimeMoveSearch(ai.getThreads() > 1 ? ParallelMoveGenerator.pool(ai.getThreads()) : null);
+            AnytimeMoveSearch.Result result = search.search(this, ai, ai.getTimeBudget() * 1_000_000L);
+            ai.setLastSearch(result);
+            if (result.getBest() != null){
+                highestPlay = result.getBest();
+            }
+        }
+        else if (ai.getThreads() > 1)
+        {
+            //find and score the moves of each row and column on its own thread
+            AIPlayer.AIPlay best = new ParallelMoveGenerator(ParallelMoveGenerator.pool(ai.getThreads())).best(this, ai);
+            if (best != null){
+                highestPlay = best;
+            }
+        }
+        else
         {
-            play.wordScore = placeWord(play.xPos, play.yPos, play.direction, play.word, false);
-            if (play.wordScore > highestPlay.wordScore){
-                highestPlay = play;
+            for (AIPlayer.AIPlay play : ai.GetPossibleMoves(this))
+            {
+                play.wordScore = placeWord(play.xPos, play.yPos, play.direction, play.word, false);
+                if (play.wordScore > highestPlay.wordScore){
+                    highestPlay = play;
+                }
             }
         }
         if (highestPlay.wordScore > 0)
@@ -823,6 +805,16 @@ public class ScrabbleModel implements Serializable{
         return gameBoard;
     }
 
+    /**
+     * Gets a copy of the board with the game's dictionary attached, that moves can be found and scored on
+     * (see scoreMove) while the game goes on.
+     * @return the copy of the board
+     */
+    public Board getBoardSnapshot(){
+        gameBoard.setDictionary(getDictionary());
+        return gameBoard.snapshot();
+    }
+
     /**
      * Get the playing state.
      */
@@ -852,12 +844,55 @@ public class ScrabbleModel implements Serializable{
 
     public void removeTile(){ bagOfTiles.removeRandomTile();}
 
-    public Dictionary getDictionary(){ return gameDictionary; }
+    /**
+     * Returns the dictionary, waiting for it if it is still loading
+     */
+    public Dictionary getDictionary(){ return gameDictionary.getDictionary(); }
+
+    /**
+     * Returns the handle to the dictionary, to check if it has loaded without waiting
+     */
+    public LexiconLoad getDictionaryLoad(){ return gameDictionary; }
+
+    /**
+     * Returns the name of the lexicon the game plays with, or null if it was given a dictionary directly
+     */
+    public String getLexiconName(){ return lexiconName; }
+
+    /**
+     * Selects the lexicon the game plays with from the registry, it should be done before the game starts
+     * The game keeps the current snapshot of the lexicon if it is swapped later, and moves on to the new words if it is reloaded
+     * @param name the name of the lexicon in LexiconRegistry
+     * @return true if it was selected, false if there is no lexicon with that name
+     */
+    public boolean selectLexicon(String name){
+        if (!LexiconRegistry.contains(name)){
+            return false;
+        }
+        gameDictionary = LexiconRegistry.get(name);
+        lexiconName = name;
+        lexiconFile = LexiconRegistry.getFileName(name);
+        return true;
+    }
 
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException{
         in.defaultReadObject();
         views = new ArrayList<>(); //here we reset the views
-        gameDictionary = new Dictionary(); // here we recreate a dictionary
+        // here we get the dictionary back from the registry, a lexicon that is not registered is loaded again from
+        // the word file the game was saved with, and only older saves and missing files use the default
+        if (!LexiconRegistry.contains(lexiconName)){
+            if (lexiconName != null && lexiconFile != null && new java.io.File(lexiconFile).isFile()){
+                LexiconRegistry.register(lexiconName, lexiconFile);
+            } else {
+                System.err.println("The lexicon " + (lexiconName == null ? "of this saved game" : lexiconName)
+                        + " is not registered, using the default lexicon " + LexiconRegistry.getFileName(LexiconRegistry.DEFAULT));
+                lexiconName = LexiconRegistry.DEFAULT;
+            }
+        } else if (lexiconFile != null && !lexiconFile.equals(LexiconRegistry.getFileName(lexiconName))){
+            System.err.println("The lexicon " + lexiconName + " now comes from " + LexiconRegistry.getFileName(lexiconName)
+                    + ", the game was saved with " + lexiconFile);
+        }
+        gameDictionary = LexiconRegistry.get(lexiconName);
         history = new ArrayList<GameHistory>();
         pointInHistory = 0;
     }
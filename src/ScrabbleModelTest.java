@@ -178,6 +178,81 @@ public class ScrabbleModelTest {
         System.out.println(score2);
     }
 
+    @Test
+    public void testPlaceWordScoresCrossWords(){
+        model.initializeGame(2, playerNames);
+        Player player1 = model.getCurrentPlayer();
+        player1.getTiles().clear();
+        for (char c : "HELLO".toCharArray()){
+            player1.addTile(new Tile(c));
+        }
+        model.placeWord(7, 7, 1, "HELLO");
+        Player player2 = model.getCurrentPlayer();
+        player2.getTiles().clear();
+        player2.addTile(new Tile('A'));
+        player2.addTile(new Tile('D'));
+        //AD under HE also makes HA and ED, the D is on a double letter square in both AD and ED
+        int score = model.placeWord(8, 7, 1, "AD");
+        assertEquals("AD (1+2*2) plus HA (4+1) plus ED (1+2*2)", 15, score);
+    }
+
+    @Test
+    public void testScoreMoveKeepsBlankForMissingLetter(){
+        model.initializeGame(2, playerNames);
+        Player player1 = model.getCurrentPlayer();
+        player1.getTiles().clear();
+        player1.addTile(new Tile(true));
+        for (char c : "CAT".toCharArray()){
+            player1.addTile(new Tile(c));
+        }
+        Board board = model.getBoard();
+        board.setDictionary(model.getDictionary());
+        //the blank is worth nothing, so the real C, A and T are played and the blank is kept for the S
+        assertEquals("CAT (3+1+1) doubled on the center", 10,
+                model.scoreMove(board, player1.getTiles(), 7, 7, 1, "CAT"));
+        assertEquals("CATS (3+1+1+0) doubled on the center", 10,
+                model.scoreMove(board, player1.getTiles(), 7, 7, 1, "CATS"));
+        assertEquals(10, model.placeWord(7, 7, 1, "CATS"));
+        assertTrue("The blank should be the S", board.getPosition(7, 10).isBlank());
+        assertFalse(board.getPosition(7, 7).isBlank());
+    }
+
+    @Test
+    public void testPlaceBlankScoresCrossWords(){
+        model.initializeGame(2, playerNames);
+        Player player1 = model.getCurrentPlayer();
+        player1.getTiles().clear();
+        for (char c : "HELLO".toCharArray()){
+            player1.addTile(new Tile(c));
+        }
+        model.placeWord(7, 7, 1, "HELLO");
+        Player player2 = model.getCurrentPlayer();
+        player2.getTiles().clear();
+        player2.addTile(new Tile(true));
+        player2.addTile(new Tile('D'));
+        //the blank A under the H is worth nothing in AD and in HA
+        int score = model.placeWord(8, 7, 1, "AD");
+        assertEquals("AD (0+2*2) plus HA (4+0) plus ED (1+2*2)", 13, score);
+        assertTrue(model.getBoard().getPosition(8, 7).isBlank());
+    }
+
+    @Test
+    public void testPlaceWordThroughTile(){
+        model.initializeGame(2, playerNames);
+        Player player1 = model.getCurrentPlayer();
+        player1.getTiles().clear();
+        for (char c : "HELLO".toCharArray()){
+            player1.addTile(new Tile(c));
+        }
+        model.placeWord(7, 7, 1, "HELLO");
+        Player player2 = model.getCurrentPlayer();
+        player2.getTiles().clear();
+        player2.addTile(new Tile('H'));
+        //OH down from the O of HELLO only touches the board through the O
+        int score = model.placeWord(7, 11, 2, "OH");
+        assertEquals("OH should be worth 5", 5, score);
+    }
+
     // ========== TILE SWAPPING TESTS ==========
 
     @Test
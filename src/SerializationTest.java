@@ -91,6 +91,9 @@ public class SerializationTest {
         assertNotNull("First tile should be on board", loadedBoard.getPosition(7,7));
         assertEquals("First tile should be T", 'T', loadedBoard.getPosition(7,7).getCharacter());
         assertFalse("First turn flag should be false", loadedModel.isFirstTurn());
+        //the anchors and extents are found again after loading
+        assertTrue("Square after TEST should be an anchor", loadedBoard.isAnchor(7, 11));
+        assertEquals("Row 7 should end at column 10", 10, loadedBoard.getRowLast(7));
     }
 
     /**
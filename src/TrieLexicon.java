@@ -0,0 +1,124 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A lexicon stored as a graph of letters that can be walked one letter at a time, like a trie.
+ * Nodes are identified by ints, and every edge out of a node is labelled with a letter index
+ * (0 for 'a' up to 25 for 'z'). Walking from the root along the letters of a word ends on a
+ * terminal node if the word is valid, and the walk only fails early if no word starts with the
+ * letters seen so far, which is what move generation needs to prune its search.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public interface TrieLexicon extends Lexicon {
+    //number of letters in the alphabet
+    int ALPHABET_SIZE = 26;
+    //returned by child when there is no edge
+    int NO_NODE = -1;
+
+    /**
+     * Gets the root node, the node for the empty prefix.
+     * @return the root node
+     */
+    int root();
+
+    /**
+     * Follows the edge labelled with a letter out of a node.
+     * @param node the node to start from
+     * @param letter the letter index from 0 to 25
+     * @return the node at the end of the edge, or NO_NODE if there is no such edge
+     */
+    int child(int node, int letter);
+
+    /**
+     * Checks if the path to a node spells a complete word.
+     * @param node the node
+     * @return true if a word ends at this node
+     */
+    boolean isTerminal(int node);
+
+    /**
+     * Gets the letters of every edge out of a node as a bit mask, bit i being set if there is an
+     * edge for letter index i. Used to iterate over the children of a node.
+     * @param node the node
+     * @return the mask of edge letters
+     */
+    int edgeMask(int node);
+
+    /**
+     * Gets the letter index of a character, ignoring case.
+     * @param c the character
+     * @return 0 to 25 for a letter, or -1 if it is not a letter
+     */
+    static int letterIndex(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        return -1;
+    }
+
+    /**
+     * Walks the letters of a prefix from the root.
+     * @param prefix the letters to walk
+     * @return the node reached, or NO_NODE if no word starts with the prefix
+     */
+    default int walk(CharSequence prefix) {
+        int node = root();
+        for (int i = 0; i < prefix.length() && node != NO_NODE; i++) {
+            int letter = letterIndex(prefix.charAt(i));
+            node = letter < 0 ? NO_NODE : child(node, letter);
+        }
+        return node;
+    }
+
+    /**
+     * Checks if any word in the lexicon starts with a prefix, ignoring case.
+     * @param prefix the prefix to check
+     * @return true if at least one word starts with the prefix
+     */
+    default boolean hasPrefix(CharSequence prefix) {
+        return walk(prefix) != NO_NODE;
+    }
+
+    @Override
+    default boolean contains(CharSequence word) {
+        int node = walk(word);
+        return node != NO_NODE && isTerminal(node);
+    }
+
+    @Override
+    default boolean contains(char[] letters, int offset, int length) {
+        int node = root();
+        for (int i = offset; i < offset + length && node != NO_NODE; i++) {
+            int letter = letterIndex(letters[i]);
+            node = letter < 0 ? NO_NODE : child(node, letter);
+        }
+        return node != NO_NODE && isTerminal(node);
+    }
+
+    @Override
+    default List<String> words() {
+        List<String> words = new ArrayList<>(size());
+        collectWords(root(), new StringBuilder(), words);
+        return words;
+    }
+
+    /**
+     * Adds every word below a node to a list in alphabetical order.
+     */
+    private void collectWords(int node, StringBuilder prefix, List<String> words) {
+        if (isTerminal(node)) {
+            words.add(prefix.toString());
+        }
+        for (int mask = edgeMask(node); mask != 0; mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            prefix.append((char) ('a' + letter));
+            collectWords(child(node, letter), prefix, words);
+            prefix.setLength(prefix.length() - 1);
+        }
+    }
+}
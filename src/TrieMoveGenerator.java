@@ -0,0 +1,163 @@
+/**
+ * Generates every legal move for a rack with a word graph walked left to right (Appel and Jacobson, "The World's
+ * Fastest Scrabble Program"). Every anchor square (an empty square next to a tile, or the center square on an
+ * empty board) gets a left part: the tiles already left of it, or every prefix the rack can make on the empty
+ * squares left of it that are not anchors themselves. Each left part is then extended rightwards through the
+ * anchor, following the graph, so only prefixes of words are ever tried.
+ * Letters are only placed on a square if they form valid words with the tiles above and below it (the square's
+ * cross-check, found by walking the graph through those tiles), blanks included, so every move found is valid.
+ * It finds the same moves as GaddagMoveGenerator but only needs the dictionary's word graph, which is smaller
+ * than a GADDAG and can be mapped from a compiled file. The cross-checks are read from the board when it keeps
+ * them for the same word graph.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class TrieMoveGenerator extends MoveGenerator {
+    private final TrieLexicon trie;
+
+    //letters of the left part being built on empty squares, in order
+    private final char[] prefix = new char[32];
+
+    /**
+     * Constructor
+     * @param trie the word graph to grow words with and check the words formed across the moves with
+     */
+    public TrieMoveGenerator(TrieLexicon trie) {
+        this.trie = trie;
+    }
+
+    @Override
+    protected boolean usesCrossChecksOf(Board board) {
+        return board.getDictionary() != null && board.getDictionary().getTrie() == trie;
+    }
+
+    /**
+     * Builds the left parts of the current anchor and extends each of them rightwards.
+     */
+    @Override
+    protected void generateAnchor() {
+        if (anchor > 0 && cells[anchor - 1] != 0) {
+            //the left part is the tiles already there
+            int leftmost = anchor - 1;
+            while (leftmost > 0 && cells[leftmost - 1] != 0) {
+                leftmost--;
+            }
+            int node = trie.root();
+            for (int square = leftmost; square < anchor && node != TrieLexicon.NO_NODE; square++) {
+                word[square] = cells[square];
+                node = trie.child(node, cells[square] - 'A');
+            }
+            if (node != TrieLexicon.NO_NODE) {
+                extendRight(node, anchor, leftmost);
+            }
+        } else {
+            //the left part can use the empty squares up to the previous anchor
+            int limit = 0;
+            while (anchor - limit > 0 && (anchors & (1 << (anchor - limit - 1))) == 0 && cells[anchor - limit - 1] == 0) {
+                limit++;
+            }
+            leftPart(trie.root(), 0, limit);
+        }
+    }
+
+    /**
+     * Finds the letters that can be placed on an empty square without forming an invalid word across the line,
+     * by walking the graph through the tiles before the square and then through the tiles after it for each
+     * letter that can follow them.
+     * @return the mask of allowed letters
+     */
+    @Override
+    protected int crossCheck(char[][] grid, int row, int col) {
+        int start = row;
+        while (start > 0 && grid[start - 1][col] != 0) {
+            start--;
+        }
+        int end = row;
+        while (end < size - 1 && grid[end + 1][col] != 0) {
+            end++;
+        }
+        if (start == row && end == row) {
+            return Board.ALL_LETTERS;
+        }
+        int node = trie.root();
+        for (int r = start; r < row && node != TrieLexicon.NO_NODE; r++) {
+            node = trie.child(node, grid[r][col] - 'A');
+        }
+        if (node == TrieLexicon.NO_NODE) {
+            return 0;
+        }
+        int allowed = 0;
+        for (int letters = trie.edgeMask(node); letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            int next = trie.child(node, letter);
+            for (int r = row + 1; r <= end && next != TrieLexicon.NO_NODE; r++) {
+                next = trie.child(next, grid[r][col] - 'A');
+            }
+            if (next != TrieLexicon.NO_NODE && trie.isTerminal(next)) {
+                allowed |= 1 << letter;
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * Extends the left part built so far rightwards from the anchor, then tries every longer left part.
+     * The squares of the left part have no tiles next to them, so any letter can go there.
+     * @param node the graph node reached by the left part
+     * @param length the number of letters in the left part
+     * @param limit how many more empty squares the left part can take
+     */
+    private void leftPart(int node, int length, int limit) {
+        if (outOfTime()) {
+            return;
+        }
+        int leftmost = anchor - length;
+        System.arraycopy(prefix, 0, word, leftmost, length);
+        extendRight(node, anchor, leftmost);
+        if (limit == 0) {
+            return;
+        }
+        for (int options = trie.edgeMask(node) & available(); options != 0; options &= options - 1) {
+            int letter = Integer.numberOfTrailingZeros(options);
+            prefix[length] = (char) ('A' + letter);
+            boolean real = take(letter);
+            leftPart(trie.child(node, letter), length + 1, limit - 1);
+            giveBack(letter, real);
+        }
+    }
+
+    /**
+     * Places letters from a square rightwards, following the tiles already on the board and trying every rack
+     * letter the cross-checks allow on the empty squares, and records every word that ends after the anchor.
+     * @param node the graph node reached by the letters left of the square
+     * @param square the square to place on next
+     * @param leftmost the first square of the word
+     */
+    private void extendRight(int node, int square, int leftmost) {
+        if (outOfTime()) {
+            return;
+        }
+        if (square == size || cells[square] == 0) {
+            if (square > anchor && trie.isTerminal(node)) {
+                record(leftmost, square - 1);
+            }
+            if (square == size) {
+                return;
+            }
+            for (int options = trie.edgeMask(node) & crossChecks[square] & available(); options != 0; options &= options - 1) {
+                int letter = Integer.numberOfTrailingZeros(options);
+                word[square] = (char) ('A' + letter);
+                boolean real = take(letter);
+                extendRight(trie.child(node, letter), square + 1, leftmost);
+                giveBack(letter, real);
+            }
+        } else {
+            int next = trie.child(node, cells[square] - 'A');
+            if (next != TrieLexicon.NO_NODE) {
+                word[square] = cells[square];
+                extendRight(next, square + 1, leftmost);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+/**
+ * Test class for TrieMoveGenerator.
+ * Tests that the moves found are valid and are the same moves the GADDAG finds, blanks included.
+ *
+ * @author Amber Skinner
+ * @version 1.0
+ */
+public class TrieMoveGeneratorTest {
+    private Dictionary dictionary;
+    private TrieMoveGenerator generator;
+    private Board board;
+
+    @Before
+    public void setUp(){
+        dictionary = new Dictionary();
+        generator = new TrieMoveGenerator(dictionary.getTrie());
+        board = new Board();
+    }
+
+    private List<Tile> rack(String letters){
+        List<Tile> tiles = new ArrayList<>();
+        for (char c : letters.toCharArray()){
+            tiles.add(c == '?' ? new Tile(true) : new Tile(c));
+        }
+        return tiles;
+    }
+
+    private Set<String> moveSet(List<AIPlayer.AIPlay> moves){
+        Set<String> set = new HashSet<>();
+        for (AIPlayer.AIPlay move : moves){
+            assertTrue("Each move should be found once: " + move.word, set.add(move.xPos + "," + move.yPos + "," + move.direction + "," + move.word));
+        }
+        return set;
+    }
+
+    private void placeWord(int row, int col, int direction, String word){
+        for (int i = 0; i < word.length(); i++){
+            int r = direction == 1 ? row : row + i;
+            int c = direction == 1 ? col + i : col;
+            if (board.getPosition(r, c) == null){
+                board.placeTile(r, c, new Tile(word.charAt(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testFirstMoveCoversCenter(){
+        Set<String> moves = moveSet(generator.generate(board, rack("CATSDOG")));
+        assertTrue("Should find CAT across the center", moves.contains("7,5,1,CAT"));
+        assertTrue("Should find DOGS down the center", moves.contains("4,7,2,DOGS"));
+    }
+
+    @Test
+    public void testGrowsThroughTiles(){
+        placeWord(7, 6, 1, "CAT");
+        Set<String> moves = moveSet(generator.generate(board, rack("BDERS")));
+        assertTrue("Should find BARE through the A", moves.contains("6,7,2,BARE"));
+        assertTrue("Should find CATS by hooking an S", moves.contains("7,6,1,CATS"));
+        for (String move : moves){
+            String word = move.substring(move.lastIndexOf(',') + 1);
+            assertTrue(word + " should be a valid word", dictionary.validWord(word));
+        }
+    }
+
+    @Test
+    public void testSameMovesAsGaddag(){
+        GaddagMoveGenerator gaddag = new GaddagMoveGenerator(dictionary.getGaddag(), dictionary);
+        String[] racks = {"AEIRSTN", "QUIZ?ES", "??", "BDERS"};
+        for (String letters : racks){
+            assertEquals("Empty board, rack " + letters, moveSet(gaddag.generate(board, rack(letters))),
+                    moveSet(generator.generate(board, rack(letters))));
+        }
+        placeWord(7, 3, 1, "HOUSE");
+        placeWord(3, 5, 2, "BOOKS");
+        placeWord(9, 2, 1, "GARDEN");
+        placeWord(5, 9, 2, "TRAIN");
+        Tile blank = new Tile(true);
+        blank.setRepresentedLetter('S');
+        board.placeTile(10, 9, blank);
+        for (String letters : racks){
+            assertEquals("Rack " + letters, moveSet(gaddag.generate(board, rack(letters))),
+                    moveSet(generator.generate(board, rack(letters))));
+        }
+    }
+}
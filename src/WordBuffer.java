@@ -0,0 +1,107 @@
+import java.util.Arrays;
+
+/**
+ * Reusable scratch buffer for the words a move forms, written letter by letter straight from the board and
+ * checked with Dictionary.validateAll without making a String for any of them. Clear it and reuse it for
+ * every move; it only grows when a move forms more letters than any move before it.
+ *
+ * A buffer is not thread safe, each thread should use its own.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class WordBuffer {
+    private char[] letters = new char[64];
+    //word i is letters[starts[i]] up to letters[starts[i + 1]]
+    private int[] starts = new int[16];
+    private int wordCount;
+    private int length;
+
+    /**
+     * Removes every word.
+     */
+    public void clear() {
+        wordCount = 0;
+        length = 0;
+        starts[0] = 0;
+    }
+
+    /**
+     * Adds a letter to the word being written.
+     * @param letter the letter
+     */
+    public void append(char letter) {
+        if (length == letters.length) {
+            letters = Arrays.copyOf(letters, 2 * length);
+        }
+        letters[length++] = letter;
+    }
+
+    /**
+     * Gets the number of letters written since the last word ended.
+     * @return the length of the word being written
+     */
+    public int currentLength() {
+        return length - starts[wordCount];
+    }
+
+    /**
+     * Ends the word being written.
+     */
+    public void endWord() {
+        if (wordCount + 1 == starts.length) {
+            starts = Arrays.copyOf(starts, 2 * starts.length);
+        }
+        starts[++wordCount] = length;
+    }
+
+    /**
+     * Throws away the letters written since the last word ended.
+     */
+    public void discardWord() {
+        length = starts[wordCount];
+    }
+
+    /**
+     * Gets the number of words ended.
+     * @return the number of words
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Gets the buffer holding the letters, for looking a word up in place.
+     * @return the letters, valid until the next append
+     */
+    public char[] letters() {
+        return letters;
+    }
+
+    /**
+     * Gets where a word starts in the letters.
+     * @param word the number of the word
+     * @return the index of its first letter
+     */
+    public int start(int word) {
+        return starts[word];
+    }
+
+    /**
+     * Gets the length of a word.
+     * @param word the number of the word
+     * @return the number of letters
+     */
+    public int length(int word) {
+        return starts[word + 1] - starts[word];
+    }
+
+    /**
+     * Makes a String of a word, for messages. This is the only method that allocates.
+     * @param word the number of the word
+     * @return the word
+     */
+    public String word(int word) {
+        return new String(letters, starts[word], length(word));
+    }
+}
@@ -0,0 +1,296 @@
+import java.util.*;
+
+/**
+ * Index of words by length and by the letters at their positions, for finding the words that fit a slot on
+ * the board without looking at any word of the wrong length.
+ * Every word gets an id, its position in the words sorted by length and then alphabetically, so the words of
+ * a length, the words of a length starting with a letter and the words up to a length are each a range of
+ * ids. The words of a length with a letter at a position are kept as a sorted list of ids, and the letter
+ * counts of every word in id order, so a rack query can stop at the longest word the rack could make.
+ * Only words of letters up to the longest length indexed are kept, longer words never fit on the board.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class WordIndex {
+    private static final int ALPHABET_SIZE = TrieLexicon.ALPHABET_SIZE;
+
+    private final int maxLength;
+    //every indexed word in lower case, by id
+    private final List<String> words;
+    //id of the first word of each length, up to maxLength + 1
+    private final int[] lengthStarts;
+    //id of the first word of each length starting with each letter, 27 per length so a range ends at the next one
+    private final int[] firstLetterStarts;
+    //ids of the words with each letter at each position of each length, one list after the other
+    private final int[] positionIds;
+    //where the list for a length, position and letter starts in positionIds, one more entry than there are lists
+    private final int[] positionStarts;
+    //packed letter counts of every word in id order
+    private final LetterCounts letterCounts;
+
+    /**
+     * Constructor, indexes a word list. Words are lower cased and words with characters other than
+     * letters or longer than the longest length are skipped.
+     * @param wordList the words to index
+     * @param maxLength the length of the longest words to index
+     */
+    public WordIndex(Collection<String> wordList, int maxLength) {
+        this.maxLength = maxLength;
+        TreeSet<String> sorted = new TreeSet<>(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        for (String word : wordList) {
+            word = word.trim().toLowerCase();
+            if (!word.isEmpty() && word.length() <= maxLength && word.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+                sorted.add(word);
+            }
+        }
+        words = Collections.unmodifiableList(new ArrayList<>(sorted));
+
+        lengthStarts = new int[maxLength + 2];
+        firstLetterStarts = new int[(maxLength + 1) * (ALPHABET_SIZE + 1)];
+        int[] listSizes = new int[list(maxLength + 1, 0, 0)];
+        for (String word : words) {
+            int length = word.length();
+            lengthStarts[length + 1]++;
+            firstLetterStarts[length * (ALPHABET_SIZE + 1) + word.charAt(0) - 'a' + 1]++;
+            for (int position = 0; position < length; position++) {
+                listSizes[list(length, position, word.charAt(position) - 'a')]++;
+            }
+        }
+        //turn the counts into starts
+        for (int length = 1; length <= maxLength + 1; length++) {
+            lengthStarts[length] += lengthStarts[length - 1];
+        }
+        for (int length = 0; length <= maxLength; length++) {
+            int base = length * (ALPHABET_SIZE + 1);
+            firstLetterStarts[base] = lengthStarts[length];
+            for (int letter = 1; letter <= ALPHABET_SIZE; letter++) {
+                firstLetterStarts[base + letter] += firstLetterStarts[base + letter - 1];
+            }
+        }
+        positionStarts = new int[listSizes.length + 1];
+        for (int i = 0; i < listSizes.length; i++) {
+            positionStarts[i + 1] = positionStarts[i] + listSizes[i];
+        }
+        //fill the lists in id order, so each one comes out sorted
+        positionIds = new int[positionStarts[listSizes.length]];
+        int[] next = Arrays.copyOf(positionStarts, listSizes.length);
+        for (int id = 0; id < words.size(); id++) {
+            String word = words.get(id);
+            for (int position = 0; position < word.length(); position++) {
+                positionIds[next[list(word.length(), position, word.charAt(position) - 'a')]++] = id;
+            }
+        }
+        letterCounts = new LetterCounts(words);
+    }
+
+    /**
+     * Gets the number of the id list for a length, position and letter.
+     */
+    private int list(int length, int position, int letter) {
+        return (length * maxLength + position) * ALPHABET_SIZE + letter;
+    }
+
+    /**
+     * Gets the length of the longest words indexed.
+     * @return the longest length
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Gets the number of words indexed.
+     * @return the number of words
+     */
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * Gets a word.
+     * @param id the id of the word
+     * @return the word in lower case
+     */
+    public String word(int id) {
+        return words.get(id);
+    }
+
+    /**
+     * Gets the id of a word.
+     * @param word the word, in any case
+     * @return the id, or -1 if the word is not indexed
+     */
+    public int id(String word) {
+        int length = word.length();
+        if (length == 0 || length > maxLength) {
+            return -1;
+        }
+        List<String> sameLength = words.subList(lengthStarts[length], lengthStarts[length + 1]);
+        int index = Collections.binarySearch(sameLength, word.toLowerCase());
+        return index < 0 ? -1 : lengthStarts[length] + index;
+    }
+
+    /**
+     * Gets the id of the first word of a length, so the words of lengths up to n are the ids before lengthStart(n + 1).
+     * @param length the length, from 0 to one more than the longest length
+     * @return the id of the first word at least that long, or the number of words if there is none
+     */
+    public int lengthStart(int length) {
+        return lengthStarts[Math.max(0, Math.min(length, maxLength + 1))];
+    }
+
+    /**
+     * Gets every word of a length.
+     * @param length the length
+     * @return the words in alphabetical order
+     */
+    public List<String> withLength(int length) {
+        return withLength(length, length);
+    }
+
+    /**
+     * Gets every word with a length in a range.
+     * @param minLength the shortest length
+     * @param maxLength the longest length
+     * @return the words, shortest first and then in alphabetical order
+     */
+    public List<String> withLength(int minLength, int maxLength) {
+        int start = lengthStart(minLength);
+        return words.subList(start, Math.max(start, lengthStart(maxLength + 1)));
+    }
+
+    /**
+     * Gets every word of a length starting with a letter.
+     * @param length the length
+     * @param letter the first letter, in any case
+     * @return the words in alphabetical order
+     */
+    public List<String> startingWith(int length, char letter) {
+        int index = TrieLexicon.letterIndex(letter);
+        if (length < 1 || length > maxLength || index < 0) {
+            return Collections.emptyList();
+        }
+        int base = length * (ALPHABET_SIZE + 1) + index;
+        return words.subList(firstLetterStarts[base], firstLetterStarts[base + 1]);
+    }
+
+    /**
+     * Counts the words of a length with a letter at a position.
+     * @param length the length
+     * @param position the position, 0 for the first letter
+     * @param letter the letter, in any case
+     * @return the number of words
+     */
+    public int countWithLetterAt(int length, int position, char letter) {
+        int index = TrieLexicon.letterIndex(letter);
+        if (length < 1 || length > maxLength || position < 0 || position >= length || index < 0) {
+            return 0;
+        }
+        int list = list(length, position, index);
+        return positionStarts[list + 1] - positionStarts[list];
+    }
+
+    /**
+     * Gets the ids of the words of a length with a letter at a position.
+     * @param length the length
+     * @param position the position, 0 for the first letter
+     * @param letter the letter, in any case
+     * @return the ids in increasing order
+     */
+    public int[] withLetterAt(int length, int position, char letter) {
+        int count = countWithLetterAt(length, position, letter);
+        if (count == 0) {
+            return new int[0];
+        }
+        int start = positionStarts[list(length, position, TrieLexicon.letterIndex(letter))];
+        return Arrays.copyOfRange(positionIds, start, start + count);
+    }
+
+    /**
+     * Gets every word that fits a slot, a word with some letters already known. The id lists of the known
+     * letters are intersected, starting from the shortest, so only words of the slot's length that share the
+     * rarest known letter are ever looked at.
+     * @param slot the slot, a letter for each known square and any other character, such as '?', for an empty one
+     * @return the words in alphabetical order
+     */
+    public List<String> fitting(String slot) {
+        int length = slot.length();
+        if (length < 1 || length > maxLength) {
+            return Collections.emptyList();
+        }
+        //the known letter with the fewest words
+        int rarest = -1;
+        for (int position = 0; position < length; position++) {
+            if (TrieLexicon.letterIndex(slot.charAt(position)) >= 0 && (rarest < 0
+                    || countWithLetterAt(length, position, slot.charAt(position)) < countWithLetterAt(length, rarest, slot.charAt(rarest)))) {
+                rarest = position;
+            }
+        }
+        if (rarest < 0) {
+            return withLength(length);
+        }
+        int start = positionStarts[list(length, rarest, TrieLexicon.letterIndex(slot.charAt(rarest)))];
+        int end = start + countWithLetterAt(length, rarest, slot.charAt(rarest));
+        int[] matches = Arrays.copyOfRange(positionIds, start, end);
+        int matchCount = matches.length;
+        for (int position = 0; position < length && matchCount > 0; position++) {
+            int letter = TrieLexicon.letterIndex(slot.charAt(position));
+            if (position != rarest && letter >= 0) {
+                int list = list(length, position, letter);
+                matchCount = intersect(matches, matchCount, positionStarts[list], positionStarts[list + 1]);
+            }
+        }
+        List<String> fitting = new ArrayList<>(matchCount);
+        for (int i = 0; i < matchCount; i++) {
+            fitting.add(words.get(matches[i]));
+        }
+        return fitting;
+    }
+
+    /**
+     * Gets every word that can be made from some of the letters of a rack plus up to a number of extra letters,
+     * which can stand for board letters or blank tiles. Only the words no longer than the rack and the extra
+     * letters together are checked.
+     * @param rack the letters of the rack, characters other than letters are ignored
+     * @param extraLetters the most extra letters a word can use
+     * @return the words, shortest first
+     */
+    public List<String> formable(String rack, int extraLetters) {
+        int letters = extraLetters;
+        for (int i = 0; i < rack.length(); i++) {
+            if (TrieLexicon.letterIndex(rack.charAt(i)) >= 0) {
+                letters++;
+            }
+        }
+        return letterCounts.formable(rack, extraLetters, letters);
+    }
+
+    /**
+     * Keeps the ids that are also in a range of positionIds, both being sorted.
+     * @return the number of ids kept, at the front of the array
+     */
+    private int intersect(int[] ids, int count, int start, int end) {
+        int kept = 0;
+        int other = start;
+        for (int i = 0; i < count && other < end; i++) {
+            //skip ahead to the first id at least as big, the other list is usually the longer one
+            other = Arrays.binarySearch(positionIds, other, end, ids[i]);
+            if (other >= 0) {
+                ids[kept++] = ids[i];
+                other++;
+            } else {
+                other = -other - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Gets the memory used by the ids and the range starts, not counting the words or their letter counts.
+     * @return the size in bytes
+     */
+    public long getMemoryBytes() {
+        return 4L * (lengthStarts.length + firstLetterStarts.length + positionIds.length + positionStarts.length);
+    }
+}
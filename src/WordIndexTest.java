@@ -0,0 +1,77 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the WordIndex class
+ */
+public class WordIndexTest {
+    private WordIndex index;
+
+    @Before
+    public void setUp(){
+        List<String> words = Arrays.asList("cat", "Cab", "a", "bat", "tab", "abet", "beta", "bet", "far-off", "abracadabra");
+        index = new WordIndex(words, 5);
+    }
+
+    @Test
+    public void testLengthRanges(){
+        assertEquals(8, index.size());
+        assertEquals(Arrays.asList("bat", "bet", "cab", "cat", "tab"), index.withLength(3));
+        assertEquals(Arrays.asList("a", "bat", "bet", "cab", "cat", "tab"), index.withLength(1, 3));
+        assertEquals(Collections.emptyList(), index.withLength(2));
+        assertEquals("words longer than the longest length are not indexed", Collections.emptyList(), index.withLength(11));
+        assertEquals(6, index.lengthStart(4));
+        assertEquals(index.size(), index.lengthStart(6));
+    }
+
+    @Test
+    public void testIds(){
+        for (int id = 0; id < index.size(); id++){
+            assertEquals(id, index.id(index.word(id)));
+        }
+        assertEquals(index.id("cat"), index.id("CAT"));
+        assertEquals(-1, index.id("dog"));
+        assertEquals(-1, index.id("abracadabra"));
+    }
+
+    @Test
+    public void testFirstLetter(){
+        assertEquals(Arrays.asList("bat", "bet"), index.startingWith(3, 'B'));
+        assertEquals(Arrays.asList("cab", "cat"), index.startingWith(3, 'c'));
+        assertEquals(Collections.emptyList(), index.startingWith(3, 'z'));
+        assertEquals(Collections.singletonList("abet"), index.startingWith(4, 'a'));
+    }
+
+    @Test
+    public void testLetterAt(){
+        assertEquals(4, index.countWithLetterAt(3, 1, 'a'));
+        int[] ids = index.withLetterAt(3, 2, 't');
+        assertEquals(3, ids.length);
+        assertEquals("bat", index.word(ids[0]));
+        assertEquals("bet", index.word(ids[1]));
+        assertEquals("cat", index.word(ids[2]));
+        assertEquals(0, index.withLetterAt(3, 3, 't').length);
+    }
+
+    @Test
+    public void testFormable(){
+        assertEquals(Arrays.asList("a", "bat", "tab"), index.formable("TAB", 0));
+        assertEquals(Arrays.asList("a", "bat", "bet", "cab", "cat", "tab", "abet", "beta"), index.formable("tab", 1));
+        assertEquals(Collections.emptyList(), index.formable("", 0));
+    }
+
+    @Test
+    public void testFitting(){
+        assertEquals(Arrays.asList("bat", "cat"), index.fitting("?at"));
+        assertEquals(Collections.singletonList("cab"), index.fitting("C?B"));
+        assertEquals(index.withLength(4), index.fitting("????"));
+        assertEquals(Collections.emptyList(), index.fitting("?x?"));
+        assertEquals(Collections.emptyList(), index.fitting("??????"));
+    }
+}
@@ -0,0 +1,225 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query for the words of a lexicon that match a pattern, answered by walking the lexicon's word graph so only
+ * the prefixes that can still match are visited, instead of checking every word.
+ *
+ * Patterns are made of letters, which must appear as written (in any case), '?' for any one letter,
+ * '*' for any run of letters (possibly none) and sets like [aei] for one of the listed letters.
+ * For example "?a??e*" finds the words with an a second and an e fifth, "pre*" the words starting with pre
+ * and "*ing" the words ending in ing. A query can also limit the length of the words and how many are
+ * returned, and stops walking as soon as it has enough.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class WordQuery {
+    //longest pattern, the positions in the pattern a walk can be at are kept in a long
+    public static final int MAX_PATTERN_LENGTH = 63;
+    private static final int ANY_LETTER = (1 << TrieLexicon.ALPHABET_SIZE) - 1;
+
+    private final String pattern;
+    //the letters each token of the pattern matches, as a mask
+    private final int[] letters;
+    //tokens that are '*'
+    private final long stars;
+    //the number of letters the tokens from each position on need at least
+    private final int[] lettersNeeded;
+    private final int minLength;
+    private final int maxLength;
+    private final int limit;
+
+    /**
+     * Constructor for a query with no length limits that returns every match.
+     * @param pattern the pattern to match
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    public WordQuery(String pattern) {
+        this(pattern, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor
+     * @param pattern the pattern to match
+     * @param minLength the shortest words to return
+     * @param maxLength the longest words to return
+     * @param limit the most words to return
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    public WordQuery(String pattern, int minLength, int maxLength, int limit) {
+        if (limit < 0 || minLength > maxLength) {
+            throw new IllegalArgumentException("Bad length range or limit for " + pattern);
+        }
+        this.pattern = pattern;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.limit = limit;
+
+        List<Integer> tokens = new ArrayList<>();
+        long starTokens = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*') {
+                //a run of stars is the same as one
+                if (tokens.isEmpty() || (starTokens & (1L << (tokens.size() - 1))) == 0) {
+                    starTokens |= 1L << tokens.size();
+                    tokens.add(0);
+                }
+            } else if (c == '?') {
+                tokens.add(ANY_LETTER);
+            } else if (c == '[') {
+                int end = pattern.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed [ in " + pattern);
+                }
+                int set = 0;
+                for (int j = i + 1; j < end; j++) {
+                    set |= 1 << letter(pattern, pattern.charAt(j));
+                }
+                if (set == 0) {
+                    throw new IllegalArgumentException("Empty [] in " + pattern);
+                }
+                tokens.add(set);
+                i = end;
+            } else {
+                tokens.add(1 << letter(pattern, c));
+            }
+            if (tokens.size() > MAX_PATTERN_LENGTH) {
+                throw new IllegalArgumentException("Pattern longer than " + MAX_PATTERN_LENGTH + ": " + pattern);
+            }
+        }
+        letters = new int[tokens.size()];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = tokens.get(i);
+        }
+        stars = starTokens;
+        lettersNeeded = new int[letters.length + 1];
+        for (int i = letters.length - 1; i >= 0; i--) {
+            lettersNeeded[i] = lettersNeeded[i + 1] + (isStar(i) ? 0 : 1);
+        }
+    }
+
+    /**
+     * Gets the letter index of a pattern character.
+     */
+    private static int letter(String pattern, char c) {
+        int letter = TrieLexicon.letterIndex(c);
+        if (letter < 0) {
+            throw new IllegalArgumentException("Unexpected '" + c + "' in pattern " + pattern);
+        }
+        return letter;
+    }
+
+    /**
+     * Finds the words of a lexicon that match the query, in alphabetical order.
+     * @param trie the lexicon to search
+     * @return the matching words in lower case, at most limit of them
+     */
+    public List<String> run(TrieLexicon trie) {
+        List<String> found = new ArrayList<>();
+        if (limit > 0) {
+            search(trie, trie.root(), closure(1L), new StringBuilder(), found);
+        }
+        return found;
+    }
+
+    /**
+     * Visits the words below a node, given the set of pattern positions the prefix so far can be at.
+     * @return false once the limit has been reached, to stop the walk
+     */
+    private boolean search(TrieLexicon trie, int node, long positions, StringBuilder prefix, List<String> found) {
+        int length = prefix.length();
+        if (trie.isTerminal(node) && length >= minLength && (positions & (1L << letters.length)) != 0) {
+            found.add(prefix.toString());
+            if (found.size() >= limit) {
+                return false;
+            }
+        }
+        if (length >= maxLength || length + fewestLettersLeft(positions) > maxLength) {
+            return true;
+        }
+        //letters any of the positions could take next
+        int allowed = 0;
+        for (long rest = positions; rest != 0; rest &= rest - 1) {
+            int position = Long.numberOfTrailingZeros(rest);
+            if (position < letters.length) {
+                allowed |= isStar(position) ? ANY_LETTER : letters[position];
+            }
+        }
+        for (int mask = trie.edgeMask(node) & allowed; mask != 0; mask &= mask - 1) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            long next = step(positions, letter);
+            if (next != 0) {
+                prefix.append((char) ('a' + letter));
+                boolean more = search(trie, trie.child(node, letter), next, prefix, found);
+                prefix.setLength(length);
+                if (!more) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves every position over one letter.
+     * @return the positions reached, 0 if the letter fits none of them
+     */
+    private long step(long positions, int letter) {
+        long next = 0;
+        for (long rest = positions; rest != 0; rest &= rest - 1) {
+            int position = Long.numberOfTrailingZeros(rest);
+            if (position == letters.length) {
+                continue;
+            }
+            if (isStar(position)) {
+                next |= 1L << position;
+            } else if ((letters[position] & (1 << letter)) != 0) {
+                next |= 1L << (position + 1);
+            }
+        }
+        return closure(next);
+    }
+
+    /**
+     * Adds the positions after every star, since a star can match no letters.
+     */
+    private long closure(long positions) {
+        for (int position = 0; position < letters.length; position++) {
+            if ((positions & (1L << position)) != 0 && isStar(position)) {
+                positions |= 1L << (position + 1);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Gets the fewest letters needed to finish the pattern from any of the positions.
+     */
+    private int fewestLettersLeft(long positions) {
+        int fewest = Integer.MAX_VALUE;
+        for (long rest = positions; rest != 0; rest &= rest - 1) {
+            fewest = Math.min(fewest, lettersNeeded[Long.numberOfTrailingZeros(rest)]);
+        }
+        return fewest;
+    }
+
+    private boolean isStar(int position) {
+        return (stars & (1L << position)) != 0;
+    }
+
+    /**
+     * Gets the pattern of the query.
+     * @return the pattern
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return pattern + " [" + minLength + ".." + (maxLength == Integer.MAX_VALUE ? "" : maxLength) + "]"
+                + (limit == Integer.MAX_VALUE ? "" : " limit " + limit);
+    }
+}
@@ -0,0 +1,66 @@
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Test class for WordQuery.
+ * Tests patterns, length ranges and limits against matching every word with a regular expression.
+ *
+ * @author Joseph Dereje
+ * @version 1.0
+ */
+public class WordQueryTest {
+    private static Dictionary dictionary;
+
+    @BeforeClass
+    public static void setUpClass(){
+        dictionary = new Dictionary(Dawg.build(Dictionary.wordList()));
+    }
+
+    /**
+     * Finds the matches the slow way, turning the pattern into a regular expression.
+     */
+    private static List<String> scan(String pattern, int minLength, int maxLength){
+        Pattern regex = Pattern.compile(pattern.toLowerCase().replace("?", "[a-z]").replace("*", "[a-z]*"));
+        List<String> matches = new ArrayList<>();
+        for (String word : dictionary.getWords()){
+            if (word.length() >= minLength && word.length() <= maxLength && regex.matcher(word).matches()){
+                matches.add(word);
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    public void testPatterns(){
+        for (String pattern : new String[]{"?A??E*", "book*", "*ing", "c*t", "*", "??", "*[aeiou][aeiou]*s", "*x*z*", "qu?*"}){
+            assertEquals(pattern, scan(pattern, 0, Integer.MAX_VALUE), dictionary.query(pattern));
+        }
+    }
+
+    @Test
+    public void testLengthRange(){
+        assertEquals(scan("s*", 4, 5), dictionary.query("s*", 4, 5, Integer.MAX_VALUE));
+        assertEquals(scan("*e*", 7, 7), dictionary.query("*e*", 7, 7, Integer.MAX_VALUE));
+        assertTrue("No word is shorter than its pattern", dictionary.query("????", 0, 3, 10).isEmpty());
+    }
+
+    @Test
+    public void testLimit(){
+        List<String> all = dictionary.query("a*");
+        assertEquals(all.subList(0, 5), dictionary.query("a*", 0, Integer.MAX_VALUE, 5));
+        assertTrue(dictionary.query("a*", 0, Integer.MAX_VALUE, 0).isEmpty());
+    }
+
+    @Test
+    public void testHashBackend(){
+        Dictionary hashed = new Dictionary(new HashLexicon(Dictionary.wordList()));
+        assertEquals(dictionary.query("*ed"), hashed.query("*ed"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadPattern(){
+        dictionary.query("ab[c");
+    }
+}